@@ -118,8 +118,8 @@ export default function ListarTreinos() {
               <View style={styles.cardRow}>
                 <Text style={styles.cardLabel}>Alunos:</Text>
                 <Text>
-                  {treino.alunosIds && treino.alunosIds.length > 0 
-                    ? treino.alunosIds.join(', ') 
+                  {treino.totalAlunos > 0
+                    ? `${treino.totalAlunos} ${treino.totalAlunos === 1 ? 'aluno vinculado' : 'alunos vinculados'}`
                     : 'Nenhum aluno vinculado'}
                 </Text>
               </View>
@@ -3,6 +3,7 @@ package com.academia.academia_api.DTO.mapper;
 import com.academia.academia_api.DTO.request.AlunoRequestDTO;
 import com.academia.academia_api.DTO.request.TreinoRequestDTO;
 import com.academia.academia_api.DTO.request.AvaliacaoFisicaRequestDTO;
+import com.academia.academia_api.DTO.response.AlunoExportacaoDTO;
 import com.academia.academia_api.DTO.response.AlunoResponseDTO;
 import com.academia.academia_api.model.Aluno;
 import com.academia.academia_api.model.Instrutor;
@@ -25,6 +26,7 @@ public class AlunoMapper {
         aluno.setTelefone(dto.getTelefone());
         aluno.setEmail(dto.getEmail());
         aluno.setEndereco(dto.getEndereco());
+        aluno.setPlano(dto.getPlano());
         aluno.setInstrutor(instrutor);
         aluno.setTreinos(treinos);
         return aluno;
@@ -33,6 +35,17 @@ public class AlunoMapper {
 
 
     public static AlunoResponseDTO toResponseDTO(Aluno aluno) {
+        return toResponseDTO(aluno,
+                aluno.getAvaliacoes() != null
+                        ? aluno.getAvaliacoes().stream().map(a -> a.getId()).collect(Collectors.toList())
+                        : null,
+                aluno.getTreinos() != null
+                        ? aluno.getTreinos().stream().map(t -> t.getId()).collect(Collectors.toList())
+                        : null);
+    }
+
+    // Usado nas listagens: os ids das coleções chegam já agrupados por consultas em lote
+    public static AlunoResponseDTO toResponseDTO(Aluno aluno, List<Long> avaliacoesIds, List<Long> treinosIds) {
         AlunoResponseDTO dto = new AlunoResponseDTO();
         dto.setId(aluno.getId());
         dto.setNome(aluno.getNome());
@@ -42,15 +55,22 @@ public class AlunoMapper {
         dto.setEndereco(aluno.getEndereco());
         dto.setPlano(aluno.getPlano());
         dto.setNomeInstrutor(aluno.getInstrutor() != null ? aluno.getInstrutor().getNome() : null);
+        dto.setAvaliacoesIds(avaliacoesIds);
+        dto.setTreinosIds(treinosIds);
+        dto.setVersao(aluno.getVersao());
+        return dto;
+    }
 
-        dto.setAvaliacoesIds(aluno.getAvaliacoes() != null
-                ? aluno.getAvaliacoes().stream().map(a -> a.getId()).collect(Collectors.toList())
-                : null);
-
-        dto.setTreinosIds(aluno.getTreinos() != null
-                ? aluno.getTreinos().stream().map(t -> t.getId()).collect(Collectors.toList())
-                : null);
-
+    public static AlunoExportacaoDTO toExportacaoDTO(Aluno aluno) {
+        AlunoExportacaoDTO dto = new AlunoExportacaoDTO();
+        dto.setId(aluno.getId());
+        dto.setNome(aluno.getNome());
+        dto.setDataNascimento(aluno.getDataNascimento());
+        dto.setTelefone(aluno.getTelefone());
+        dto.setEmail(aluno.getEmail());
+        dto.setEndereco(aluno.getEndereco());
+        dto.setPlano(aluno.getPlano());
+        dto.setNomeInstrutor(aluno.getInstrutor() != null ? aluno.getInstrutor().getNome() : null);
         return dto;
     }
 }
\ No newline at end of file
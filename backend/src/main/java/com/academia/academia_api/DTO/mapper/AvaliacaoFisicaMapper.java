@@ -27,6 +27,7 @@ public class AvaliacaoFisicaMapper {
         dto.setImc(entity.getImc());
         dto.setObservacoes(entity.getObservacoes());
         dto.setNomeAluno(entity.getAluno() != null ? entity.getAluno().getNome() : null);
+        dto.setVersao(entity.getVersao());
         return dto;
     }
 }
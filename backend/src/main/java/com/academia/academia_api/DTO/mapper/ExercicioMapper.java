@@ -7,7 +7,7 @@ import com.academia.academia_api.model.Treino;
 
 public class ExercicioMapper {
 
-    public static Exercicio toEntity(ExercicioRequestDTO dto) {
+    public static Exercicio toEntity(ExercicioRequestDTO dto, Treino treino) {
         Exercicio exercicio = new Exercicio();
         exercicio.setNome(dto.getNome());
         exercicio.setGrupoMuscular(dto.getGrupoMuscular());
@@ -15,9 +15,6 @@ public class ExercicioMapper {
         exercicio.setRepeticoes(dto.getRepeticoes());
         exercicio.setCarga(dto.getCarga());
         exercicio.setDescansoSegundos(dto.getDescansoSegundos());
-        // Aqui, associamos o treino usando o ID. Em um caso real, seria necessário buscar o treino no banco.
-        Treino treino = new Treino();  // Você deve obter o objeto treino por ID
-        treino.setId(dto.getTreinoId());
         exercicio.setTreino(treino);
         return exercicio;
     }
@@ -32,6 +29,8 @@ public class ExercicioMapper {
         dto.setCarga(exercicio.getCarga());
         dto.setDescansoSegundos(exercicio.getDescansoSegundos());
         dto.setTreinoId(exercicio.getTreino().getId());
+        dto.setOrdem(exercicio.getOrdem());
+        dto.setVersao(exercicio.getVersao());
         return dto;
     }
 
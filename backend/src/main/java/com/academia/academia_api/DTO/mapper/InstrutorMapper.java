@@ -2,10 +2,8 @@ package com.academia.academia_api.DTO.mapper;
 
 import com.academia.academia_api.DTO.request.InstrutorRequestDTO;
 import com.academia.academia_api.DTO.response.InstrutorResponseDTO;
-import com.academia.academia_api.model.Aluno;
 import com.academia.academia_api.model.Instrutor;
-
-import java.util.stream.Collectors;
+import com.academia.academia_api.repository.projection.InstrutorResumo;
 
 public class InstrutorMapper {
 
@@ -19,7 +17,7 @@ public class InstrutorMapper {
         return instrutor;
     }
 
-    public static InstrutorResponseDTO toResponseDTO(Instrutor instrutor) {
+    public static InstrutorResponseDTO toResponseDTO(Instrutor instrutor, long totalAlunos) {
         InstrutorResponseDTO dto = new InstrutorResponseDTO();
         dto.setId(instrutor.getId());
         dto.setNome(instrutor.getNome());
@@ -27,14 +25,21 @@ public class InstrutorMapper {
         dto.setTelefone(instrutor.getTelefone());
         dto.setEmail(instrutor.getEmail());
         dto.setNumeroCreef(instrutor.getNumeroCreef());
+        dto.setTotalAlunos(totalAlunos);
+        dto.setVersao(instrutor.getVersao());
+        return dto;
+    }
 
-        if (instrutor.getAlunos() != null) {
-            dto.setAlunosIds(instrutor.getAlunos()
-                    .stream()
-                    .map(Aluno::getId)
-                    .collect(Collectors.toList()));
-        }
-
+    public static InstrutorResponseDTO toResponseDTO(InstrutorResumo resumo) {
+        InstrutorResponseDTO dto = new InstrutorResponseDTO();
+        dto.setId(resumo.getId());
+        dto.setNome(resumo.getNome());
+        dto.setCpf(resumo.getCpf());
+        dto.setTelefone(resumo.getTelefone());
+        dto.setEmail(resumo.getEmail());
+        dto.setNumeroCreef(resumo.getNumeroCreef());
+        dto.setTotalAlunos(resumo.getTotalAlunos());
+        dto.setVersao(resumo.getVersao());
         return dto;
     }
 }
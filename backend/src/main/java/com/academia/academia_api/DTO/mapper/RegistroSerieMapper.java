@@ -0,0 +1,18 @@
+package com.academia.academia_api.DTO.mapper;
+
+import com.academia.academia_api.DTO.response.RegistroSerieResponseDTO;
+import com.academia.academia_api.model.RegistroSerie;
+
+public class RegistroSerieMapper {
+
+    public static RegistroSerieResponseDTO toResponseDTO(RegistroSerie registro) {
+        RegistroSerieResponseDTO dto = new RegistroSerieResponseDTO();
+        dto.setId(registro.getId());
+        dto.setAlunoId(registro.getAluno().getId());
+        dto.setExercicioId(registro.getExercicio() != null ? registro.getExercicio().getId() : null);
+        dto.setCarga(registro.getCarga());
+        dto.setRepeticoes(registro.getRepeticoes());
+        dto.setRealizadoEm(registro.getRealizadoEm());
+        return dto;
+    }
+}
@@ -1,10 +1,11 @@
 package com.academia.academia_api.DTO.mapper;
 
 import com.academia.academia_api.DTO.request.TreinoRequestDTO;
+import com.academia.academia_api.DTO.response.TreinoCompletoResponseDTO;
 import com.academia.academia_api.DTO.response.TreinoResponseDTO;
 import com.academia.academia_api.model.Treino;
+import com.academia.academia_api.repository.projection.TreinoResumo;
 
-import java.util.List;
 import java.util.stream.Collectors;
 
 public class TreinoMapper {
@@ -17,22 +18,39 @@ public class TreinoMapper {
         return treino;
     }
 
-    public static TreinoResponseDTO toResponseDTO(Treino treino) {
-        List<Long> alunosIds = null;
-
-        if (treino.getAlunos() != null) {
-            alunosIds = treino.getAlunos()
-                    .stream()
-                    .map(aluno -> aluno.getId())
-                    .collect(Collectors.toList());
-        }
-
+    public static TreinoResponseDTO toResponseDTO(Treino treino, long totalAlunos) {
         return new TreinoResponseDTO(
                 treino.getId(),
                 treino.getNome(),
                 treino.getObjetivo(),
                 treino.getNivel(),
-                alunosIds
+                totalAlunos,
+                treino.getVersao()
+        );
+    }
+
+    public static TreinoResponseDTO toResponseDTO(TreinoResumo resumo) {
+        return new TreinoResponseDTO(
+                resumo.getId(),
+                resumo.getNome(),
+                resumo.getObjetivo(),
+                resumo.getNivel(),
+                resumo.getTotalAlunos(),
+                resumo.getVersao()
         );
     }
-}
\ No newline at end of file
+
+    public static TreinoCompletoResponseDTO toCompletoDTO(Treino treino) {
+        TreinoCompletoResponseDTO dto = new TreinoCompletoResponseDTO();
+        dto.setId(treino.getId());
+        dto.setNome(treino.getNome());
+        dto.setObjetivo(treino.getObjetivo());
+        dto.setNivel(treino.getNivel());
+        dto.setVersao(treino.getVersao());
+        dto.setExercicios(treino.getExercicios()
+                .stream()
+                .map(ExercicioMapper::toResponseDTO)
+                .collect(Collectors.toList()));
+        return dto;
+    }
+}
@@ -0,0 +1,11 @@
+package com.academia.academia_api.DTO.request;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AtribuicaoTreinosRequestDTO {
+    private List<Long> alunoIds;
+    private List<Long> treinoIds;
+}
@@ -7,6 +7,7 @@ import java.time.LocalDate;
 
 @Data
 public class AvaliacaoFisicaRequestDTO {
+    private Long id; // usado na atualização do aluno para identificar uma avaliação existente
     private LocalDate dataAvaliacao;
     private BigDecimal peso;
     private BigDecimal altura;
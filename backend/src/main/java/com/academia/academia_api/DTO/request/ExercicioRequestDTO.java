@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 
 @Data
 public class ExercicioRequestDTO {
+    private Long id; // usado na substituição do plano do treino para identificar um exercício existente
     private String nome;
     private String grupoMuscular;
     private Integer series;
@@ -0,0 +1,15 @@
+package com.academia.academia_api.DTO.request;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class RegistroSerieRequestDTO {
+    private Long alunoId;
+    private Long exercicioId;
+    private BigDecimal carga;
+    private Integer repeticoes;
+    private LocalDateTime realizadoEm; // quando omitido, usa o horário de recebimento
+}
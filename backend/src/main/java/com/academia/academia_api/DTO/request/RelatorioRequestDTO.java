@@ -0,0 +1,13 @@
+package com.academia.academia_api.DTO.request;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class RelatorioRequestDTO {
+    private String tipo; // "avaliacoes" ou "alunos"
+    private Long instrutorId;
+    private LocalDate inicio; // período das avaliações; quando omitido, o mês corrente
+    private LocalDate fim;
+}
@@ -0,0 +1,17 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class AlunoExportacaoDTO {
+    private Long id;
+    private String nome;
+    private LocalDate dataNascimento;
+    private String telefone;
+    private String email;
+    private String endereco;
+    private String plano;
+    private String nomeInstrutor;
+}
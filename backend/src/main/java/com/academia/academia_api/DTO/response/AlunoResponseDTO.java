@@ -18,4 +18,5 @@ public class AlunoResponseDTO {
 
     private List<Long> avaliacoesIds;
     private List<Long> treinosIds;
+    private Long versao;
 }
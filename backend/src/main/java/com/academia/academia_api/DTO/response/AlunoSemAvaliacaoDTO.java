@@ -0,0 +1,16 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlunoSemAvaliacaoDTO {
+    private Long alunoId;
+    private String nome;
+    private LocalDate ultimaAvaliacao; // null se o aluno nunca foi avaliado
+}
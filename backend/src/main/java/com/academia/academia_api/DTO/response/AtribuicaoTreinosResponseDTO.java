@@ -0,0 +1,12 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtribuicaoTreinosResponseDTO {
+    private int vinculosCriados; // pares (aluno, treino) que ainda não existiam
+}
@@ -1,11 +1,16 @@
 package com.academia.academia_api.DTO.response;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+// O construtor completo é usado pelas consultas com expressão new (AvaliacaoFisicaRepository)
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AvaliacaoFisicaResponseDTO {
     private Long id;
     private LocalDate dataAvaliacao;
@@ -14,5 +19,5 @@ public class AvaliacaoFisicaResponseDTO {
     private BigDecimal imc;
     private String observacoes;
     private String nomeAluno;
+    private Long versao;
 }
-
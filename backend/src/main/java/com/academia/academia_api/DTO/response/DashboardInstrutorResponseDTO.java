@@ -0,0 +1,18 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class DashboardInstrutorResponseDTO {
+    private Long instrutorId;
+    private String nomeInstrutor;
+    private long totalAlunos;
+    private Map<String, Long> alunosPorPlano = new LinkedHashMap<>();
+    private List<AlunoSemAvaliacaoDTO> alunosSemAvaliacaoRecente = new ArrayList<>();
+    private List<TreinoEmUsoDTO> treinosEmUso = new ArrayList<>();
+}
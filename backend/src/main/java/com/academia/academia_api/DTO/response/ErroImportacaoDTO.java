@@ -0,0 +1,13 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private int linha; // posição do registro no arquivo/lista, começando em 1
+    private String mensagem;
+}
@@ -0,0 +1,17 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCacheResponseDTO {
+    private String nome;
+    private long tamanho;
+    private long acertos;
+    private long faltas;
+    private double taxaAcerto;
+    private long remocoes;
+}
@@ -14,4 +14,6 @@ public class ExercicioResponseDTO {
     private BigDecimal carga;
     private Integer descansoSegundos;
     private Long treinoId; // ID do treino associado
+    private Integer ordem;
+    private Long versao;
 }
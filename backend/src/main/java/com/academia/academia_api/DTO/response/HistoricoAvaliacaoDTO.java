@@ -0,0 +1,19 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Ponto da série de evolução do aluno; montado direto na consulta (expressão new da JPQL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoAvaliacaoDTO {
+    private LocalDate dataAvaliacao;
+    private BigDecimal peso;
+    private BigDecimal altura;
+    private BigDecimal imc;
+}
@@ -0,0 +1,16 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoResponseDTO {
+    private int totalRecebidos;
+    private int totalImportados;
+    private List<ErroImportacaoDTO> erros;
+}
@@ -1,7 +1,6 @@
 package com.academia.academia_api.DTO.response;
 
 import lombok.Data;
-import java.util.List;
 
 @Data
 public class InstrutorResponseDTO {
@@ -11,5 +10,6 @@ public class InstrutorResponseDTO {
     private String telefone;
     private String email;
     private String numeroCreef;
-    private List<Long> alunosIds;
+    private Long totalAlunos;
+    private Long versao;
 }
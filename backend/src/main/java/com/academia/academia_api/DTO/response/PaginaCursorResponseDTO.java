@@ -0,0 +1,16 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorResponseDTO<T> {
+    private List<T> conteudo;
+    private int tamanho;
+    private String proximoCursor; // null quando não há mais páginas
+}
@@ -0,0 +1,24 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaResponseDTO<T> {
+    private List<T> conteudo;
+    private int pagina;
+    private int tamanho;
+    private long totalElementos;
+    private int totalPaginas;
+
+    public static <T> PaginaResponseDTO<T> of(Page<?> page, List<T> conteudo) {
+        return new PaginaResponseDTO<>(conteudo, page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages());
+    }
+}
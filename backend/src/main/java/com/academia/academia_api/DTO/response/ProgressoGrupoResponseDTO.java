@@ -0,0 +1,17 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressoGrupoResponseDTO {
+    private String grupo;
+    private long totalAlunos; // alunos com ao menos duas avaliações
+    private BigDecimal variacaoPesoMedia; // última - primeira avaliação
+    private BigDecimal variacaoImcMedia;
+}
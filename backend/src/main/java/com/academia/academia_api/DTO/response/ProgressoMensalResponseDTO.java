@@ -0,0 +1,21 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressoMensalResponseDTO {
+    private String grupo;
+    private LocalDate mes; // primeiro dia do mês
+    private long totalAvaliacoes;
+    private BigDecimal pesoMedio;
+    private BigDecimal imcMedio;
+    private BigDecimal variacaoPeso; // em relação ao mês anterior do grupo; null no primeiro mês
+    private BigDecimal variacaoImc;
+}
@@ -0,0 +1,16 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+public class RegistroSerieResponseDTO {
+    private Long id;
+    private Long alunoId;
+    private Long exercicioId;
+    private BigDecimal carga;
+    private Integer repeticoes;
+    private LocalDateTime realizadoEm;
+}
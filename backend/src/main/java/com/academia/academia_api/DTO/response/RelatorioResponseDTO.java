@@ -0,0 +1,19 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class RelatorioResponseDTO {
+    private String id;
+    private String tipo;
+    private Long instrutorId;
+    private String status; // PENDENTE, EXECUTANDO, CONCLUIDO, CANCELADO ou FALHOU
+    private long processados;
+    private long total;
+    private int percentual;
+    private String erro;
+    private Instant criadoEm;
+    private Instant concluidoEm;
+}
@@ -0,0 +1,15 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TreinoCompletoResponseDTO {
+    private Long id;
+    private String nome;
+    private String objetivo;
+    private String nivel;
+    private Long versao;
+    private List<ExercicioResponseDTO> exercicios;
+}
@@ -0,0 +1,14 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TreinoEmUsoDTO {
+    private Long treinoId;
+    private String nome;
+    private long totalAlunos;
+}
@@ -4,9 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDate;
-import java.util.List;
-
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,7 +12,6 @@ public class TreinoResponseDTO {
     private String nome;
     private String objetivo;
     private String nivel;
-    private List<Long> alunosIds;
-
-
+    private Long totalAlunos;
+    private Long versao;
 }
@@ -0,0 +1,16 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeGrupoResponseDTO {
+    private String grupoMuscular; // vazio para exercícios sem grupo muscular
+    private long totalExercicios;
+    private BigDecimal volume; // séries x repetições x carga
+}
@@ -0,0 +1,17 @@
+package com.academia.academia_api.DTO.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VolumeTreinoResponseDTO {
+    private Long treinoId;
+    private String nomeTreino;
+    private long totalExercicios;
+    private BigDecimal volume; // séries x repetições x carga
+}
@@ -0,0 +1,58 @@
+package com.academia.academia_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ALUNOS = "alunos";
+    public static final String INSTRUTORES = "instrutores";
+    public static final String FAIXA_ETARIA = "faixaEtaria";
+    public static final String INSTRUTOR_DASHBOARD = "instrutorDashboard";
+
+    @Value("${academia.cache.tamanho-maximo:10000}")
+    private long tamanhoMaximo;
+
+    @Value("${academia.cache.expiracao:10m}")
+    private Duration expiracao;
+
+    @Value("${academia.cache.faixa-etaria.expiracao:30s}")
+    private Duration expiracaoFaixaEtaria;
+
+    @Value("${academia.cache.instrutor-dashboard.expiracao:60s}")
+    private Duration expiracaoDashboardInstrutor;
+
+    @Bean
+    public CaffeineCacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(ALUNOS, INSTRUTORES));
+
+        // Painel consulta com frequência; um TTL curto basta, além da invalidação nas escritas
+        cacheManager.registerCustomCache(FAIXA_ETARIA, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(expiracaoFaixaEtaria)
+                .recordStats()
+                .build());
+
+        // Painel por instrutor: expira sozinho, sem invalidação nas escritas de alunos/avaliações
+        cacheManager.registerCustomCache(INSTRUTOR_DASHBOARD, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracaoDashboardInstrutor)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -1,14 +1,25 @@
 package com.academia.academia_api.controller;
 
 import com.academia.academia_api.DTO.request.AlunoRequestDTO;
+import com.academia.academia_api.DTO.request.AtribuicaoTreinosRequestDTO;
 import com.academia.academia_api.DTO.response.AlunoResponseDTO;
+import com.academia.academia_api.DTO.response.AtribuicaoTreinosResponseDTO;
+import com.academia.academia_api.DTO.response.ImportacaoResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaCursorResponseDTO;
 import com.academia.academia_api.model.Aluno;
 import com.academia.academia_api.model.Treino;
 import com.academia.academia_api.repository.AlunoRepository;
 import com.academia.academia_api.service.AlunoService;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
 
 import java.util.List;
 import java.util.Map;
@@ -35,19 +46,64 @@ public class AlunoController {
         return ResponseEntity.ok(alunoCriado);
     }
 
+    @PostMapping("/importar")
+    public ResponseEntity<ImportacaoResponseDTO> importarAlunos(@RequestBody List<AlunoRequestDTO> dtos) {
+        return ResponseEntity.ok(alunoService.importarAlunos(dtos));
+    }
+
     @GetMapping
-    public ResponseEntity<List<AlunoResponseDTO>> listarAlunos() {
-        return ResponseEntity.ok(alunoService.listarTodos());
+    public ResponseEntity<List<AlunoResponseDTO>> listarAlunos(WebRequest request) {
+        String etag = alunoService.etagLista();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(alunoService.listarTodos());
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaCursorResponseDTO<AlunoResponseDTO>> listarAlunosPaginado(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(defaultValue = "id") String ordenarPor) {
+        return ResponseEntity.ok(alunoService.listarPagina(cursor, tamanho, ordenarPor));
+    }
+
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarAlunos(@RequestParam(defaultValue = "ndjson") String formato) {
+        MediaType tipo;
+        if ("ndjson".equals(formato)) {
+            tipo = MediaType.APPLICATION_NDJSON;
+        } else if ("csv".equals(formato)) {
+            tipo = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else {
+            throw new RuntimeException("Formato de exportação inválido: " + formato);
+        }
+
+        StreamingResponseBody corpo = saida -> alunoService.exportar(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"alunos." + formato + "\"")
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AlunoResponseDTO> buscarAlunoPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(alunoService.buscarPorId(id));
+    public ResponseEntity<AlunoResponseDTO> buscarAlunoPorId(@PathVariable Long id, WebRequest request) {
+        // ETag pelas versões do aluno e dos dados embutidos (avaliacoesIds, treinosIds, nomeInstrutor);
+        // um If-None-Match igual recebe 304 sem o aluno ser carregado
+        String etag = alunoService.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(alunoService.buscarPorId(id));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<AlunoResponseDTO> atualizarAluno(@PathVariable Long id, @RequestBody AlunoRequestDTO dto) {
-        return ResponseEntity.ok(alunoService.atualizarAluno(id, dto));
+    public ResponseEntity<AlunoResponseDTO> atualizarAluno(@PathVariable Long id,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           @RequestBody AlunoRequestDTO dto) {
+        AlunoResponseDTO atualizado = alunoService.atualizarAluno(id, dto,
+                ETagUtil.versaoEsperada(ifMatch, "aluno", id));
+        return ResponseEntity.ok().eTag(alunoService.etag(id)).body(atualizado);
     }
 
     @DeleteMapping("/{id}")
@@ -58,8 +114,10 @@ public class AlunoController {
     }
 
     @GetMapping("/buscar")
-    public List<Aluno> buscarPorNome(@RequestParam String nome) {
-        return alunoService.buscarPorNome(nome);
+    public List<AlunoResponseDTO> buscarPorNome(@RequestParam String nome,
+                                                @RequestParam(defaultValue = "0") int pagina,
+                                                @RequestParam(required = false) Integer tamanho) {
+        return alunoService.buscarPorNome(nome, pagina, tamanho);
     }
 
     @PostMapping("/{id}/treinos")
@@ -70,6 +128,11 @@ public class AlunoController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/atribuicoes-treinos")
+    public ResponseEntity<AtribuicaoTreinosResponseDTO> atribuirTreinos(@RequestBody AtribuicaoTreinosRequestDTO dto) {
+        return ResponseEntity.ok(alunoService.atribuirTreinos(dto));
+    }
+
     @GetMapping("/{id}/treinos")
     public ResponseEntity<List<Treino>> listarTreinosDoAluno(@PathVariable Long id) {
         Aluno aluno = alunoRepository.findById(id)
@@ -0,0 +1,34 @@
+package com.academia.academia_api.controller;
+
+import com.academia.academia_api.DTO.response.ProgressoGrupoResponseDTO;
+import com.academia.academia_api.DTO.response.ProgressoMensalResponseDTO;
+import com.academia.academia_api.service.ProgressoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// dimensao: plano, instrutor ou faixa-etaria
+@RestController
+@RequestMapping("/api/analises/progresso")
+public class AnaliseProgressoController {
+
+    @Autowired
+    private ProgressoService progressoService;
+
+    @GetMapping("/{dimensao}")
+    public ResponseEntity<List<ProgressoGrupoResponseDTO>> variacaoPorGrupo(@PathVariable String dimensao) {
+        return ResponseEntity.ok(progressoService.variacaoPorGrupo(dimensao));
+    }
+
+    @GetMapping("/{dimensao}/mensal")
+    public ResponseEntity<List<ProgressoMensalResponseDTO>> mensalPorGrupo(
+            @PathVariable String dimensao,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(progressoService.mensalPorGrupo(dimensao, inicio, fim));
+    }
+}
@@ -0,0 +1,38 @@
+package com.academia.academia_api.controller;
+
+import com.academia.academia_api.DTO.response.VolumeGrupoResponseDTO;
+import com.academia.academia_api.DTO.response.VolumeTreinoResponseDTO;
+import com.academia.academia_api.service.VolumeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analises/volume")
+public class AnaliseVolumeController {
+
+    @Autowired
+    private VolumeService volumeService;
+
+    @GetMapping("/treinos")
+    public ResponseEntity<List<VolumeTreinoResponseDTO>> volumePorTreino() {
+        return ResponseEntity.ok(volumeService.volumePorTreino());
+    }
+
+    @GetMapping("/treinos/{id}")
+    public ResponseEntity<List<VolumeGrupoResponseDTO>> volumeDoTreino(@PathVariable Long id) {
+        return ResponseEntity.ok(volumeService.volumeDoTreino(id));
+    }
+
+    @GetMapping("/alunos/{id}")
+    public ResponseEntity<List<VolumeGrupoResponseDTO>> volumeDoAluno(@PathVariable Long id) {
+        return ResponseEntity.ok(volumeService.volumeDoAluno(id));
+    }
+
+    @GetMapping("/grupos")
+    public ResponseEntity<List<VolumeGrupoResponseDTO>> volumePorGrupo() {
+        return ResponseEntity.ok(volumeService.volumePorGrupo());
+    }
+}
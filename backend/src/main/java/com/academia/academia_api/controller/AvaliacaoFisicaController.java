@@ -2,12 +2,26 @@ package com.academia.academia_api.controller;
 
 import com.academia.academia_api.DTO.request.AvaliacaoFisicaRequestDTO;
 import com.academia.academia_api.DTO.response.AvaliacaoFisicaResponseDTO;
+import com.academia.academia_api.DTO.response.HistoricoAvaliacaoDTO;
+import com.academia.academia_api.DTO.response.ImportacaoResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
 import com.academia.academia_api.service.AvaliacaoFisicaService;
+import com.academia.academia_api.service.ImportacaoAvaliacoesService;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/avaliacoes")
@@ -16,20 +30,69 @@ public class AvaliacaoFisicaController {
     @Autowired
     private AvaliacaoFisicaService service;
 
+    @Autowired
+    private ImportacaoAvaliacoesService importacaoService;
+
     @PostMapping
     public ResponseEntity<AvaliacaoFisicaResponseDTO> criar(@RequestBody AvaliacaoFisicaRequestDTO dto) {
         return ResponseEntity.ok(service.criar(dto));
     }
 
+    // Corpo CSV lido direto da requisição, sem carregar o arquivo inteiro em memória
+    @PostMapping(value = "/importar", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportacaoResponseDTO> importar(InputStream arquivo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarCsv(arquivo));
+    }
+
     @GetMapping
-    public ResponseEntity<List<AvaliacaoFisicaResponseDTO>> listar() {
-        return ResponseEntity.ok(service.listar());
+    public ResponseEntity<List<AvaliacaoFisicaResponseDTO>> listar(WebRequest request) {
+        String etag = service.etagLista();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.listar());
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaResponseDTO<AvaliacaoFisicaResponseDTO>> listarPagina(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.listarPagina(inicio, fim, pagina, tamanho));
+    }
+
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = saida -> service.exportar(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"avaliacoes.ndjson\"")
+                .body(corpo);
+    }
+
+    @GetMapping("/aluno/{alunoId}/historico")
+    public ResponseEntity<PaginaResponseDTO<HistoricoAvaliacaoDTO>> historico(
+            @PathVariable Long alunoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(service.historicoDoAluno(alunoId, inicio, fim, pagina, tamanho));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AvaliacaoFisicaResponseDTO> buscar(@PathVariable Long id) {
+    public ResponseEntity<AvaliacaoFisicaResponseDTO> buscar(@PathVariable Long id, WebRequest request) {
+        // A versão do aluno entra no ETag porque nomeAluno muda sem alterar a versão da avaliação
+        Optional<String> etag = service.etag(id);
+        if (etag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(etag.get())) {
+            return null;
+        }
         return service.buscarPorId(id)
-                .map(ResponseEntity::ok)
+                .map(avaliacao -> ResponseEntity.ok().eTag(etag.get()).body(avaliacao))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -0,0 +1,41 @@
+package com.academia.academia_api.controller;
+
+import com.academia.academia_api.DTO.response.EstatisticasCacheResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CaffeineCacheManager cacheManager;
+
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<EstatisticasCacheResponseDTO>> estatisticas() {
+        List<EstatisticasCacheResponseDTO> estatisticas = new ArrayList<>();
+        for (String nome : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache(nome))
+                    .getNativeCache();
+            CacheStats stats = cache.stats();
+            estatisticas.add(new EstatisticasCacheResponseDTO(
+                    nome,
+                    cache.estimatedSize(),
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount()));
+        }
+        return ResponseEntity.ok(estatisticas);
+    }
+}
@@ -2,12 +2,16 @@ package com.academia.academia_api.controller;
 
 import com.academia.academia_api.DTO.request.ExercicioRequestDTO;
 import com.academia.academia_api.DTO.response.ExercicioResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
 import com.academia.academia_api.service.ExercicioService;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -23,23 +27,62 @@ public class ExercicioController {
         return ResponseEntity.status(201).body(responseDTO);
     }
 
-    @GetMapping
-    public ResponseEntity<List<ExercicioResponseDTO>> listarExercicios() {
-        List<ExercicioResponseDTO> responseDTOs = exercicioService.listarExercicios();
-        return ResponseEntity.ok(responseDTOs);
+    // JSON já serializado no snapshot do catálogo: nenhuma consulta nem passagem pelo Jackson
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listarExercicios(WebRequest request) {
+        String etag = exercicioService.etagLista();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(exercicioService.listarExerciciosJson());
+    }
+
+    @GetMapping("/pagina")
+    public ResponseEntity<PaginaResponseDTO<ExercicioResponseDTO>> listarPagina(
+            @RequestParam(required = false) String grupoMuscular,
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) Long treinoId,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(defaultValue = "nome") String ordenarPor,
+            @RequestParam(defaultValue = "asc") String direcao) {
+        return ResponseEntity.ok(exercicioService.listarPagina(grupoMuscular, nome, treinoId,
+                pagina, tamanho, ordenarPor, direcao));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ExercicioResponseDTO> buscarExercicioPorId(@PathVariable Long id) {
         Optional<ExercicioResponseDTO> responseDTO = exercicioService.buscarExercicioPorId(id);
-        return responseDTO.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        return responseDTO
+                .map(exercicio -> ResponseEntity.ok()
+                        .eTag(ETagUtil.recurso("exercicio", exercicio.getId(), exercicio.getVersao()))
+                        .body(exercicio))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ExercicioResponseDTO> atualizarExercicio(@PathVariable Long id,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                                    @RequestBody ExercicioRequestDTO requestDTO) {
-        ExercicioResponseDTO updatedExercicio = exercicioService.atualizarExercicio(id, requestDTO);
-        return updatedExercicio != null ? ResponseEntity.ok(updatedExercicio) : ResponseEntity.notFound().build();
+        ExercicioResponseDTO updatedExercicio = exercicioService.atualizarExercicio(id, requestDTO,
+                ETagUtil.versaoEsperada(ifMatch, "exercicio", id));
+        return updatedExercicio != null
+                ? ResponseEntity.ok().eTag(ETagUtil.recurso("exercicio", updatedExercicio.getId(), updatedExercicio.getVersao())).body(updatedExercicio)
+                : ResponseEntity.notFound().build();
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<ExercicioResponseDTO> atualizarParcial(@PathVariable Long id,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                 @RequestBody ExercicioRequestDTO requestDTO) {
+        return exercicioService.atualizarParcial(id, requestDTO, ETagUtil.versaoEsperada(ifMatch, "exercicio", id))
+                .map(exercicio -> ResponseEntity.ok()
+                        .eTag(ETagUtil.recurso("exercicio", exercicio.getId(), exercicio.getVersao()))
+                        .body(exercicio))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -1,13 +1,20 @@
 package com.academia.academia_api.controller;
 
 import com.academia.academia_api.DTO.request.InstrutorRequestDTO;
+import com.academia.academia_api.DTO.response.AlunoResponseDTO;
+import com.academia.academia_api.DTO.response.DashboardInstrutorResponseDTO;
 import com.academia.academia_api.DTO.response.InstrutorResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
+import com.academia.academia_api.service.AlunoService;
 import com.academia.academia_api.service.InstrutorService;
+import com.academia.academia_api.util.ETagUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,6 +25,9 @@ public class InstrutorController {
     @Autowired
     private InstrutorService instrutorService;
 
+    @Autowired
+    private AlunoService alunoService;
+
 //    @PostMapping
 //    public ResponseEntity<InstrutorResponseDTO> criar(@RequestBody InstrutorRequestDTO dto) {
 //        return ResponseEntity.ok(instrutorService.criarInstrutor(dto));
@@ -31,21 +41,46 @@ public class InstrutorController {
 
 
     @GetMapping
-    public ResponseEntity<List<InstrutorResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(instrutorService.listarInstrutores());
+    public ResponseEntity<List<InstrutorResponseDTO>> listarTodos(WebRequest request) {
+        String etag = instrutorService.etagLista();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(instrutorService.listarInstrutores());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<InstrutorResponseDTO> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(instrutorService.buscarPorId(id));
+    public ResponseEntity<InstrutorResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        // totalAlunos entra no ETag porque muda quando alunos são vinculados ou removidos, sem alterar a versão
+        String etag = instrutorService.etag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(instrutorService.buscarPorId(id));
+    }
+
+    @GetMapping("/{id}/alunos")
+    public ResponseEntity<PaginaResponseDTO<AlunoResponseDTO>> listarAlunos(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(alunoService.listarPorInstrutor(id, pagina, tamanho));
+    }
+
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<DashboardInstrutorResponseDTO> dashboard(@PathVariable Long id) {
+        return ResponseEntity.ok(instrutorService.dashboard(id));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<InstrutorResponseDTO> atualizar(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody InstrutorRequestDTO dto) {
 
-        return ResponseEntity.ok(instrutorService.atualizarInstrutor(id, dto));
+        InstrutorResponseDTO atualizado = instrutorService.atualizarInstrutor(id, dto,
+                ETagUtil.versaoEsperada(ifMatch, "instrutor", id));
+        return ResponseEntity.ok().eTag(instrutorService.etag(id)).body(atualizado);
     }
 
     @DeleteMapping("/{id}")
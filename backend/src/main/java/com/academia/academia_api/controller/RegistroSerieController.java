@@ -0,0 +1,32 @@
+package com.academia.academia_api.controller;
+
+import com.academia.academia_api.DTO.request.RegistroSerieRequestDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
+import com.academia.academia_api.DTO.response.RegistroSerieResponseDTO;
+import com.academia.academia_api.service.RegistroSerieService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/registros-series")
+public class RegistroSerieController {
+
+    @Autowired
+    private RegistroSerieService registroSerieService;
+
+    // 202: o registro foi aceito na fila e será gravado em lote
+    @PostMapping
+    public ResponseEntity<Void> registrar(@RequestBody RegistroSerieRequestDTO requestDTO) {
+        registroSerieService.registrar(requestDTO);
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/aluno/{alunoId}")
+    public ResponseEntity<PaginaResponseDTO<RegistroSerieResponseDTO>> listarPorAluno(
+            @PathVariable Long alunoId,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(registroSerieService.listarPorAluno(alunoId, pagina, tamanho));
+    }
+}
@@ -0,0 +1,54 @@
+package com.academia.academia_api.controller;
+
+import com.academia.academia_api.DTO.request.RelatorioRequestDTO;
+import com.academia.academia_api.DTO.response.RelatorioResponseDTO;
+import com.academia.academia_api.service.RelatorioJob;
+import com.academia.academia_api.service.RelatorioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    // 202: o relatório foi aceito; o andamento é consultado pelo Location
+    @PostMapping
+    public ResponseEntity<RelatorioResponseDTO> submeter(@RequestBody RelatorioRequestDTO requestDTO) {
+        RelatorioResponseDTO relatorio = relatorioService.submeter(requestDTO);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/relatorios/" + relatorio.getId()))
+                .body(relatorio);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RelatorioResponseDTO> buscar(@PathVariable String id) {
+        return ResponseEntity.ok(relatorioService.buscar(id));
+    }
+
+    @GetMapping("/{id}/arquivo")
+    public ResponseEntity<Resource> baixar(@PathVariable String id) {
+        RelatorioJob relatorio = relatorioService.buscarConcluido(id);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + relatorio.getNomeArquivo() + "\"")
+                .body(new FileSystemResource(relatorio.getArquivo()));
+    }
+
+    // Cancela um relatório em andamento ou descarta um já finalizado
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelar(@PathVariable String id) {
+        relatorioService.cancelar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
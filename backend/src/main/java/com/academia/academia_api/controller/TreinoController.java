@@ -1,13 +1,24 @@
 package com.academia.academia_api.controller;
 
+import com.academia.academia_api.DTO.request.ExercicioRequestDTO;
 import com.academia.academia_api.DTO.request.TreinoRequestDTO;
+import com.academia.academia_api.DTO.response.AlunoResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
+import com.academia.academia_api.DTO.response.TreinoCompletoResponseDTO;
 import com.academia.academia_api.DTO.response.TreinoResponseDTO;
+import com.academia.academia_api.service.AlunoService;
+import com.academia.academia_api.service.ExercicioService;
 import com.academia.academia_api.service.TreinoService;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/treinos")
@@ -16,28 +27,91 @@ public class TreinoController {
     @Autowired
     private TreinoService treinoService;
 
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private ExercicioService exercicioService;
+
     @PostMapping
     public ResponseEntity<TreinoResponseDTO> criar(@RequestBody TreinoRequestDTO requestDTO) {
         TreinoResponseDTO response = treinoService.criarTreino(requestDTO);
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping
-    public ResponseEntity<List<TreinoResponseDTO>> listarTodos() {
-        return ResponseEntity.ok(treinoService.listarTreinos());
+    // JSON já serializado no snapshot do catálogo: nenhuma consulta nem passagem pelo Jackson
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listarTodos(WebRequest request) {
+        String etag = treinoService.etagLista();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(treinoService.listarTreinosJson());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TreinoResponseDTO> buscarPorId(@PathVariable Long id) {
-        return treinoService.buscarTreinoPorId(id)
+    public ResponseEntity<TreinoResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        // Treino vem do snapshot do catálogo; o ETag usa o mesmo snapshot, então nunca descreve outro corpo
+        Optional<TreinoResponseDTO> treino = treinoService.buscarTreinoPorId(id);
+        if (treino.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = etag(treino.get());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(treino.get());
+    }
+
+    @GetMapping("/{id}/completo")
+    public ResponseEntity<TreinoCompletoResponseDTO> buscarCompleto(@PathVariable Long id) {
+        return treinoService.buscarTreinoCompleto(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}/exercicios")
+    public ResponseEntity<TreinoCompletoResponseDTO> substituirExercicios(@PathVariable Long id,
+                                                                         @RequestBody List<ExercicioRequestDTO> plano) {
+        return exercicioService.substituirPlano(id, plano)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/alunos")
+    public ResponseEntity<PaginaResponseDTO<AlunoResponseDTO>> listarAlunos(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(alunoService.listarPorTreino(id, pagina, tamanho));
+    }
+
+    @GetMapping("/completos")
+    public ResponseEntity<List<TreinoCompletoResponseDTO>> listarCompletos(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(treinoService.listarTreinosCompletos(ids));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<TreinoResponseDTO> atualizar(@PathVariable Long id, @RequestBody TreinoRequestDTO requestDTO) {
-        TreinoResponseDTO response = treinoService.atualizarTreino(id, requestDTO);
-        return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+    public ResponseEntity<TreinoResponseDTO> atualizar(@PathVariable Long id,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @RequestBody TreinoRequestDTO requestDTO) {
+        TreinoResponseDTO response = treinoService.atualizarTreino(id, requestDTO,
+                ETagUtil.versaoEsperada(ifMatch, "treino", id));
+        return response != null
+                ? ResponseEntity.ok().eTag(etag(response)).body(response)
+                : ResponseEntity.notFound().build();
+    }
+
+    @PatchMapping("/{id}")
+    public ResponseEntity<TreinoResponseDTO> atualizarParcial(@PathVariable Long id,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @RequestBody TreinoRequestDTO requestDTO) {
+        return treinoService.atualizarParcial(id, requestDTO, ETagUtil.versaoEsperada(ifMatch, "treino", id))
+                .map(treino -> ResponseEntity.ok().eTag(etag(treino)).body(treino))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
@@ -45,4 +119,9 @@ public class TreinoController {
         treinoService.deletarTreino(id);
         return ResponseEntity.noContent().build();
     }
+
+    // totalAlunos muda com as matrículas sem alterar a versão do treino
+    private static String etag(TreinoResponseDTO treino) {
+        return ETagUtil.recurso("treino", treino.getId(), treino.getVersao(), treino.getTotalAlunos());
+    }
 }
@@ -16,7 +16,8 @@ import java.util.List;
 public class Aluno {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alunos_seq")
+    @SequenceGenerator(name = "alunos_seq", sequenceName = "alunos_id_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -31,6 +32,9 @@ public class Aluno {
 
     private String plano;
 
+    @Version
+    private Long versao;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instrutor_id")
     private Instrutor instrutor;
@@ -39,7 +43,8 @@ public class Aluno {
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "aluno_treino",
             joinColumns = @JoinColumn(name = "aluno_id"),
-            inverseJoinColumns = @JoinColumn(name = "treino_id"))
+            inverseJoinColumns = @JoinColumn(name = "treino_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_aluno_treino", columnNames = {"aluno_id", "treino_id"}))
     private List<Treino> treinos = new ArrayList<>();
 
     @JsonManagedReference
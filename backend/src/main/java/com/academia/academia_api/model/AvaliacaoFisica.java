@@ -15,7 +15,8 @@ import java.time.LocalDate;
 public class AvaliacaoFisica {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "avaliacoes_fisicas_seq")
+    @SequenceGenerator(name = "avaliacoes_fisicas_seq", sequenceName = "avaliacoes_fisicas_id_seq", allocationSize = 50)
     private Long id;
 
     private LocalDate dataAvaliacao;
@@ -28,6 +29,9 @@ public class AvaliacaoFisica {
 
     private String observacoes;
 
+    @Version
+    private Long versao;
+
     @JsonBackReference
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "aluno_id")
@@ -15,7 +15,8 @@ import java.math.BigDecimal;
 public class Exercicio {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exercicios_seq")
+    @SequenceGenerator(name = "exercicios_seq", sequenceName = "exercicios_id_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -30,7 +31,12 @@ public class Exercicio {
 
     private Integer descansoSegundos;
 
-    @ManyToOne
+    private Integer ordem; // posição do exercício no plano do treino
+
+    @Version
+    private Long versao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "treino_id")
     private Treino treino;
 }
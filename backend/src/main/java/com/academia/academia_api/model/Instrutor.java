@@ -15,7 +15,8 @@ import java.util.List;
 public class Instrutor {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instrutores_seq")
+    @SequenceGenerator(name = "instrutores_seq", sequenceName = "instrutores_id_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -31,6 +32,9 @@ public class Instrutor {
     @Column(name = "numero_creef", unique = true, nullable = false)
     private String numeroCreef;
 
+    @Version
+    private Long versao;
+
     @OneToMany(mappedBy = "instrutor")
     private List<Aluno> alunos;
 }
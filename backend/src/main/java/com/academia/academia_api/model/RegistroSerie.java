@@ -0,0 +1,36 @@
+package com.academia.academia_api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Registro apenas de inclusão: gravado em lote via JDBC, a entidade é usada só nas consultas
+@Entity
+@Table(name = "registros_series")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroSerie {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "aluno_id")
+    private Aluno aluno;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "exercicio_id")
+    private Exercicio exercicio;
+
+    private BigDecimal carga;
+
+    private Integer repeticoes;
+
+    private LocalDateTime realizadoEm;
+}
@@ -1,6 +1,7 @@
 package com.academia.academia_api.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,7 +16,8 @@ import java.util.List;
 public class Treino {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "treinos_seq")
+    @SequenceGenerator(name = "treinos_seq", sequenceName = "treinos_id_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -24,8 +26,18 @@ public class Treino {
 
     private String nivel;
 
+    @Version
+    private Long versao;
+
     @JsonBackReference
     @ManyToMany(mappedBy = "treinos")
     private List<Aluno> alunos = new ArrayList<>();
 
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @OneToMany(mappedBy = "treino")
+    @OrderBy("ordem ASC, id ASC")
+    private List<Exercicio> exercicios = new ArrayList<>();
+
 }
@@ -1,15 +1,136 @@
 package com.academia.academia_api.repository;
 
 import com.academia.academia_api.model.Aluno;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AlunoRepository extends JpaRepository<Aluno, Long> {
-    @Query("SELECT a FROM Aluno a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    List<Aluno> findByNomeContainingIgnoreCase(@Param("nome") String nome);
+    // Usa o índice trigram em lower(nome); o padrão já chega em minúsculas e com %, _ e barra invertida escapados
+    @Query(value = "SELECT CAST(a.id AS BIGINT) FROM alunos a " +
+            "WHERE lower(a.nome) LIKE CONCAT('%', :padrao, '%') " +
+            "ORDER BY similarity(lower(a.nome), :termo) DESC, a.nome, a.id " +
+            "LIMIT :limite OFFSET :deslocamento", nativeQuery = true)
+    List<Long> buscarIdsPorNome(@Param("padrao") String padrao,
+                                @Param("termo") String termo,
+                                @Param("limite") int limite,
+                                @Param("deslocamento") int deslocamento);
+
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor WHERE a.id IN :ids")
+    List<Aluno> findComInstrutorByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor ORDER BY a.id")
+    List<Aluno> findAllComInstrutor();
+
+    // Uma linha usada para o ETag de um aluno: versão do aluno e do instrutor (nomeInstrutor), total e maior id
+    // das avaliações (avaliacoesIds) e um hash dos treinos atribuídos (treinosIds), que não têm versão
+    @Query(value = "SELECT a.versao, COALESCE(i.versao, 0), " +
+            "(SELECT COUNT(*) FROM avaliacoes_fisicas av WHERE av.aluno_id = a.id), " +
+            "(SELECT COALESCE(MAX(av.id), 0) FROM avaliacoes_fisicas av WHERE av.aluno_id = a.id), " +
+            "(SELECT COALESCE(md5(string_agg(CAST(at.treino_id AS TEXT), ',' ORDER BY at.treino_id)), '0') " +
+            "FROM aluno_treino at WHERE at.aluno_id = a.id) " +
+            "FROM alunos a LEFT JOIN instrutores i ON i.id = a.instrutor_id WHERE a.id = :id", nativeQuery = true)
+    List<Object[]> resumirVersoesPorId(@Param("id") Long id);
+
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor WHERE a.id = :id")
+    Optional<Aluno> findComInstrutorById(@Param("id") Long id);
+
+    @Query(value = "SELECT a FROM Aluno a JOIN a.treinos t LEFT JOIN FETCH a.instrutor WHERE t.id = :treinoId",
+            countQuery = "SELECT COUNT(a) FROM Aluno a JOIN a.treinos t WHERE t.id = :treinoId")
+    Page<Aluno> findByTreinoId(@Param("treinoId") Long treinoId, Pageable pageable);
+
+    @Query(value = "SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor WHERE a.instrutor.id = :instrutorId",
+            countQuery = "SELECT COUNT(a) FROM Aluno a WHERE a.instrutor.id = :instrutorId")
+    Page<Aluno> findByInstrutorId(@Param("instrutorId") Long instrutorId, Pageable pageable);
+
+    // Pares (alunoId, id) usados para montar avaliacoesIds/treinosIds sem inicializar as coleções lazy
+    @Query("SELECT av.aluno.id, av.id FROM AvaliacaoFisica av WHERE av.aluno.id IN :alunoIds ORDER BY av.id")
+    List<Object[]> findAvaliacoesIdsPorAluno(@Param("alunoIds") Collection<Long> alunoIds);
+
+    @Query("SELECT a.id, t.id FROM Aluno a JOIN a.treinos t WHERE a.id IN :alunoIds")
+    List<Object[]> findTreinosIdsPorAluno(@Param("alunoIds") Collection<Long> alunoIds);
+
+    // Paginação por cursor (keyset): o Pageable só limita a quantidade de linhas, sem OFFSET
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor ORDER BY a.id")
+    List<Aluno> findPaginaPorId(Pageable pageable);
+
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor WHERE a.id > :ultimoId ORDER BY a.id")
+    List<Aluno> findPaginaPorIdApos(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor ORDER BY a.nome, a.id")
+    List<Aluno> findPaginaPorNome(Pageable pageable);
+
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor " +
+            "WHERE a.nome >= :ultimoNome AND (a.nome > :ultimoNome OR a.id > :ultimoId) " +
+            "ORDER BY a.nome, a.id")
+    List<Aluno> findPaginaPorNomeApos(@Param("ultimoNome") String ultimoNome,
+                                      @Param("ultimoId") Long ultimoId,
+                                      Pageable pageable);
+
+    // Cursor do banco para exportação: deve ser consumido dentro de uma transação e fechado ao final
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Aluno a LEFT JOIN FETCH a.instrutor ORDER BY a.id")
+    Stream<Aluno> streamTodosComInstrutor();
+
+    // Linhas (id, nome, plano, total de treinos, data, peso e imc da última avaliação) dos alunos de um
+    // instrutor, para relatórios; a última avaliação sai do índice (aluno_id, data_avaliacao, id)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT a.id, a.nome, a.plano, " +
+            "(SELECT COUNT(*) FROM aluno_treino at WHERE at.aluno_id = a.id) AS total_treinos, " +
+            "ua.data_avaliacao, ua.peso, ua.imc " +
+            "FROM alunos a LEFT JOIN LATERAL (" +
+            "SELECT av.data_avaliacao, av.peso, av.imc FROM avaliacoes_fisicas av WHERE av.aluno_id = a.id " +
+            "ORDER BY av.data_avaliacao DESC, av.id DESC LIMIT 1) ua ON true " +
+            "WHERE a.instrutor_id = :instrutorId ORDER BY a.nome, a.id", nativeQuery = true)
+    Stream<Object[]> streamResumoPorInstrutor(@Param("instrutorId") Long instrutorId);
+
+    long countByInstrutorId(Long instrutorId);
+
+    @Query("SELECT COUNT(t) > 0 FROM Aluno a JOIN a.treinos t WHERE a.id = :id")
+    boolean possuiTreinos(@Param("id") Long id);
+
+    // Insere só os pares (aluno, treino) que ainda não existem; ids inexistentes são ignorados pelo join
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO aluno_treino (aluno_id, treino_id) " +
+            "SELECT a.id, t.id FROM alunos a CROSS JOIN treinos t " +
+            "WHERE a.id IN (:alunoIds) AND t.id IN (:treinoIds) " +
+            "ON CONFLICT (aluno_id, treino_id) DO NOTHING", nativeQuery = true)
+    int atribuirTreinos(@Param("alunoIds") Collection<Long> alunoIds,
+                        @Param("treinoIds") Collection<Long> treinoIds);
+
+    @Query("SELECT a.id FROM Aluno a WHERE a.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Pares (email, id) usados para identificar alunos em arquivos importados
+    @Query("SELECT a.email, a.id FROM Aluno a WHERE a.email IN :emails")
+    List<Object[]> findIdsPorEmail(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT a.email FROM Aluno a WHERE a.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    // Linhas (faixa, total); faixa: 0 = até 25, 1 = 26-35, 2 = 36-45, 3 = 46-60, 4 = mais de 60 anos
+    @Query(value = "SELECT CASE " +
+            "WHEN date_part('year', age(data_nascimento)) <= 25 THEN 0 " +
+            "WHEN date_part('year', age(data_nascimento)) <= 35 THEN 1 " +
+            "WHEN date_part('year', age(data_nascimento)) <= 45 THEN 2 " +
+            "WHEN date_part('year', age(data_nascimento)) <= 60 THEN 3 " +
+            "ELSE 4 END AS faixa, COUNT(*) AS total " +
+            "FROM alunos WHERE data_nascimento IS NOT NULL GROUP BY 1", nativeQuery = true)
+    List<Object[]> contarPorFaixaEtaria();
 }
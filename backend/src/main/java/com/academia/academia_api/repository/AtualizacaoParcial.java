@@ -0,0 +1,41 @@
+package com.academia.academia_api.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta um UPDATE ... RETURNING com apenas as colunas recebidas (valores nulos são ignorados),
+ * incrementando a versão otimista e, se informada, exigindo a versão esperada no WHERE.
+ */
+final class AtualizacaoParcial {
+
+    private final List<String> atribuicoes = new ArrayList<>();
+    private final MapSqlParameterSource parametros = new MapSqlParameterSource();
+
+    AtualizacaoParcial definir(String coluna, Object valor) {
+        if (valor != null) {
+            atribuicoes.add(coluna + " = :" + coluna);
+            parametros.addValue(coluna, valor);
+        }
+        return this;
+    }
+
+    String sql(String tabela, Long id, Long versaoEsperada, String retorno) {
+        atribuicoes.add("versao = versao + 1");
+        parametros.addValue("id", id);
+        StringBuilder sql = new StringBuilder("UPDATE ").append(tabela)
+                .append(" SET ").append(String.join(", ", atribuicoes))
+                .append(" WHERE id = :id");
+        if (versaoEsperada != null) {
+            sql.append(" AND versao = :versaoEsperada");
+            parametros.addValue("versaoEsperada", versaoEsperada);
+        }
+        return sql.append(" RETURNING ").append(retorno).toString();
+    }
+
+    MapSqlParameterSource parametros() {
+        return parametros;
+    }
+}
@@ -1,9 +1,82 @@
 package com.academia.academia_api.repository;
 
+import com.academia.academia_api.DTO.response.AvaliacaoFisicaResponseDTO;
+import com.academia.academia_api.DTO.response.HistoricoAvaliacaoDTO;
 import com.academia.academia_api.model.AvaliacaoFisica;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface AvaliacaoFisicaRepository extends JpaRepository<AvaliacaoFisica, Long> {
+
+    // nomeAluno vem do join na mesma consulta, sem carregar o aluno lazy de cada avaliação
+    String SELECT_RESPONSE = "SELECT new com.academia.academia_api.DTO.response.AvaliacaoFisicaResponseDTO(" +
+            "av.id, av.dataAvaliacao, av.peso, av.altura, av.imc, av.observacoes, a.nome, av.versao) " +
+            "FROM AvaliacaoFisica av JOIN av.aluno a ";
+
+    @Query(SELECT_RESPONSE + "ORDER BY av.id")
+    List<AvaliacaoFisicaResponseDTO> findTodosComNomeAluno();
+
+    @Query(SELECT_RESPONSE + "WHERE av.id = :id")
+    Optional<AvaliacaoFisicaResponseDTO> findComNomeAlunoById(@Param("id") Long id);
+
+    @Query(value = SELECT_RESPONSE + "WHERE av.dataAvaliacao BETWEEN :inicio AND :fim " +
+            "ORDER BY av.dataAvaliacao DESC, av.id DESC",
+            countQuery = "SELECT COUNT(av) FROM AvaliacaoFisica av WHERE av.dataAvaliacao BETWEEN :inicio AND :fim")
+    Page<AvaliacaoFisicaResponseDTO> findPaginaPorPeriodo(@Param("inicio") LocalDate inicio,
+                                                          @Param("fim") LocalDate fim,
+                                                          Pageable pageable);
+
+    // Cursor do banco para exportação: deve ser consumido dentro de uma transação e fechado ao final
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESPONSE + "ORDER BY av.id")
+    Stream<AvaliacaoFisicaResponseDTO> streamTodosComNomeAluno();
+
+    // Relatórios em segundo plano: avaliações dos alunos de um instrutor no período, lidas por cursor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_RESPONSE + "WHERE a.instrutor.id = :instrutorId AND av.dataAvaliacao BETWEEN :inicio AND :fim " +
+            "ORDER BY a.nome, av.dataAvaliacao, av.id")
+    Stream<AvaliacaoFisicaResponseDTO> streamPorInstrutor(@Param("instrutorId") Long instrutorId,
+                                                          @Param("inicio") LocalDate inicio,
+                                                          @Param("fim") LocalDate fim);
+
+    @Query("SELECT COUNT(av) FROM AvaliacaoFisica av " +
+            "WHERE av.aluno.instrutor.id = :instrutorId AND av.dataAvaliacao BETWEEN :inicio AND :fim")
+    long contarPorInstrutor(@Param("instrutorId") Long instrutorId,
+                            @Param("inicio") LocalDate inicio,
+                            @Param("fim") LocalDate fim);
+
+    // Versão da avaliação e do aluno (nomeAluno), usadas no ETag de uma avaliação
+    @Query("SELECT av.versao, av.aluno.versao FROM AvaliacaoFisica av WHERE av.id = :id")
+    List<Object[]> resumirVersoesPorId(@Param("id") Long id);
+
+    @Query("SELECT av.aluno.id FROM AvaliacaoFisica av WHERE av.id = :id")
+    Long findAlunoIdById(@Param("id") Long id);
+
+    // Atendida pelo índice (aluno_id, data_avaliacao, id) INCLUDE (peso, altura, imc)
+    @Query(value = "SELECT new com.academia.academia_api.DTO.response.HistoricoAvaliacaoDTO(" +
+            "av.dataAvaliacao, av.peso, av.altura, av.imc) FROM AvaliacaoFisica av " +
+            "WHERE av.aluno.id = :alunoId AND av.dataAvaliacao BETWEEN :inicio AND :fim " +
+            "ORDER BY av.dataAvaliacao, av.id",
+            countQuery = "SELECT COUNT(av) FROM AvaliacaoFisica av " +
+                    "WHERE av.aluno.id = :alunoId AND av.dataAvaliacao BETWEEN :inicio AND :fim")
+    Page<HistoricoAvaliacaoDTO> findHistorico(@Param("alunoId") Long alunoId,
+                                              @Param("inicio") LocalDate inicio,
+                                              @Param("fim") LocalDate fim,
+                                              Pageable pageable);
 }
@@ -0,0 +1,44 @@
+package com.academia.academia_api.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+
+/**
+ * Bloqueios consultivos (pg_advisory_xact_lock) que serializam o recálculo das tabelas de agregação
+ * por chave. Sem eles, duas transações que alteram o mesmo treino/aluno calculam os totais cada uma
+ * sem as linhas da outra e a última a confirmar sobrescreve o resultado. Com o bloqueio, quem espera
+ * só recalcula depois do commit da outra e, em READ COMMITTED, já enxerga as linhas dela.
+ * Os bloqueios valem até o fim da transação, que precisa estar aberta, e são tomados em ordem de id
+ * para que lotes sobrepostos não entrem em deadlock; pelo mesmo motivo, os de treino vêm antes dos de
+ * aluno. O recálculo de um aluno lê o volume dos seus treinos e toma os bloqueios deles compartilhados,
+ * enquanto o recálculo de um treino os toma exclusivos.
+ */
+final class BloqueioAgregacao {
+
+    // Espaços de chave separados para ids de tabelas diferentes não colidirem
+    static final int VOLUME_TREINO = 1;
+    static final int VOLUME_ALUNO = 2;
+    static final int PROGRESSO_ALUNO = 3;
+
+    private BloqueioAgregacao() {
+    }
+
+    static void bloquear(NamedParameterJdbcTemplate jdbcTemplate, int espaco, Collection<Long> ids) {
+        bloquear(jdbcTemplate, "pg_advisory_xact_lock", espaco, ids);
+    }
+
+    static void bloquearCompartilhado(NamedParameterJdbcTemplate jdbcTemplate, int espaco, Collection<Long> ids) {
+        bloquear(jdbcTemplate, "pg_advisory_xact_lock_shared", espaco, ids);
+    }
+
+    private static void bloquear(NamedParameterJdbcTemplate jdbcTemplate, String funcao, int espaco, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.queryForList("SELECT " + funcao + "(:espaco, CAST(chave.id AS INT)) " +
+                        "FROM unnest(CAST(ARRAY[:ids] AS BIGINT[])) AS chave(id) ORDER BY chave.id",
+                new MapSqlParameterSource("espaco", espaco).addValue("ids", ids));
+    }
+}
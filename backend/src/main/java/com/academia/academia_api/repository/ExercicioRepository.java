@@ -2,8 +2,21 @@ package com.academia.academia_api.repository;
 
 import com.academia.academia_api.model.Exercicio;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface ExercicioRepository extends JpaRepository<Exercicio, Long> {
+public interface ExercicioRepository extends JpaRepository<Exercicio, Long>, JpaSpecificationExecutor<Exercicio>,
+        ExercicioRepositoryCustom {
+
+    // Carga do catálogo em memória, já na ordem do plano de cada treino
+    @Query("SELECT e FROM Exercicio e ORDER BY e.treino.id, e.ordem, e.id")
+    List<Exercicio> findAllOrdenados();
+
+    @Query("SELECT e.treino.id FROM Exercicio e WHERE e.id = :id")
+    Long findTreinoIdById(@Param("id") Long id);
 }
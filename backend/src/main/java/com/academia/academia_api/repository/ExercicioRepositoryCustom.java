@@ -0,0 +1,12 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.DTO.request.ExercicioRequestDTO;
+import com.academia.academia_api.DTO.response.ExercicioResponseDTO;
+
+import java.util.Optional;
+
+public interface ExercicioRepositoryCustom {
+
+    // Vazio quando nenhuma linha foi atualizada (id inexistente ou versão diferente da esperada)
+    Optional<ExercicioResponseDTO> atualizarParcial(Long id, ExercicioRequestDTO campos, Long versaoEsperada);
+}
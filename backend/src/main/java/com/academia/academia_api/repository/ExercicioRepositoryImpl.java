@@ -0,0 +1,48 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.DTO.request.ExercicioRequestDTO;
+import com.academia.academia_api.DTO.response.ExercicioResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+public class ExercicioRepositoryImpl implements ExercicioRepositoryCustom {
+
+    private static final String COLUNAS = "id, nome, grupo_muscular, series, repeticoes, carga, " +
+            "descanso_segundos, treino_id, ordem, versao";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<ExercicioResponseDTO> atualizarParcial(Long id, ExercicioRequestDTO campos, Long versaoEsperada) {
+        AtualizacaoParcial atualizacao = new AtualizacaoParcial()
+                .definir("nome", campos.getNome())
+                .definir("grupo_muscular", campos.getGrupoMuscular())
+                .definir("series", campos.getSeries())
+                .definir("repeticoes", campos.getRepeticoes())
+                .definir("carga", campos.getCarga())
+                .definir("descanso_segundos", campos.getDescansoSegundos())
+                .definir("treino_id", campos.getTreinoId());
+        String sql = atualizacao.sql("exercicios", id, versaoEsperada, COLUNAS);
+        return jdbcTemplate.query(sql, atualizacao.parametros(), ExercicioRepositoryImpl::mapear).stream().findFirst();
+    }
+
+    private static ExercicioResponseDTO mapear(ResultSet rs, int linha) throws SQLException {
+        ExercicioResponseDTO dto = new ExercicioResponseDTO();
+        dto.setId(rs.getLong("id"));
+        dto.setNome(rs.getString("nome"));
+        dto.setGrupoMuscular(rs.getString("grupo_muscular"));
+        dto.setSeries(rs.getObject("series", Integer.class));
+        dto.setRepeticoes(rs.getObject("repeticoes", Integer.class));
+        dto.setCarga(rs.getBigDecimal("carga"));
+        dto.setDescansoSegundos(rs.getObject("descanso_segundos", Integer.class));
+        dto.setTreinoId(rs.getObject("treino_id", Long.class));
+        dto.setOrdem(rs.getObject("ordem", Integer.class));
+        dto.setVersao(rs.getLong("versao"));
+        return dto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.model.Exercicio;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filtros opcionais do catálogo de exercícios; só os filtros informados entram no WHERE,
+ * para que o planejador use os índices de V12.
+ */
+public final class ExercicioSpecifications {
+
+    private ExercicioSpecifications() {
+    }
+
+    public static Specification<Exercicio> filtrar(String grupoMuscular, String prefixoNome, Long treinoId) {
+        Specification<Exercicio> spec = Specification.where(null);
+        if (grupoMuscular != null && !grupoMuscular.isBlank()) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("grupoMuscular"), grupoMuscular));
+        }
+        if (prefixoNome != null && !prefixoNome.isBlank()) {
+            String padrao = escaparLike(prefixoNome.trim().toLowerCase(Locale.ROOT)) + "%";
+            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.get("nome")), padrao, '\\'));
+        }
+        if (treinoId != null) {
+            // treino.id é a própria coluna treino_id: não gera join
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("treino").get("id"), treinoId));
+        }
+        return spec;
+    }
+
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
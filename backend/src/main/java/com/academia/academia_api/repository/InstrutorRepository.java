@@ -1,9 +1,60 @@
 package com.academia.academia_api.repository;
 
 import com.academia.academia_api.model.Instrutor;
+import com.academia.academia_api.repository.projection.InstrutorResumo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface InstrutorRepository extends JpaRepository<Instrutor, Long> {
+
+    @Query("SELECT i.id AS id, i.nome AS nome, i.cpf AS cpf, i.telefone AS telefone, i.email AS email, " +
+            "i.numeroCreef AS numeroCreef, i.versao AS versao, COUNT(a) AS totalAlunos " +
+            "FROM Instrutor i LEFT JOIN i.alunos a " +
+            "GROUP BY i.id, i.nome, i.cpf, i.telefone, i.email, i.numeroCreef, i.versao ORDER BY i.id")
+    List<InstrutorResumo> findResumos();
+
+    @Query("SELECT i.id AS id, i.nome AS nome, i.cpf AS cpf, i.telefone AS telefone, i.email AS email, " +
+            "i.numeroCreef AS numeroCreef, i.versao AS versao, COUNT(a) AS totalAlunos " +
+            "FROM Instrutor i LEFT JOIN i.alunos a WHERE i.id = :id " +
+            "GROUP BY i.id, i.nome, i.cpf, i.telefone, i.email, i.numeroCreef, i.versao")
+    Optional<InstrutorResumo> findResumoById(@Param("id") Long id);
+
+    /**
+     * Painel do instrutor em uma única consulta. Cada linha é (tipo, id, rotulo, total, data):
+     * INSTRUTOR (só existe se o instrutor existir, total = alunos), PLANO (rotulo = plano, total = alunos),
+     * SEM_AVALIACAO (aluno sem avaliação nos últimos :dias dias, data = última avaliação)
+     * e TREINO (treino em uso pelos alunos, total = alunos com o treino).
+     */
+    @Query(value = "WITH alunos_instrutor AS (" +
+            "  SELECT a.id, a.nome, a.plano FROM alunos a WHERE a.instrutor_id = :id" +
+            ") " +
+            "SELECT 'INSTRUTOR' AS tipo, CAST(i.id AS BIGINT) AS id, i.nome AS rotulo, " +
+            "  (SELECT COUNT(*) FROM alunos_instrutor) AS total, CAST(NULL AS DATE) AS data " +
+            "FROM instrutores i WHERE i.id = :id " +
+            "UNION ALL " +
+            "SELECT 'PLANO', CAST(NULL AS BIGINT), ai.plano, COUNT(*), CAST(NULL AS DATE) " +
+            "FROM alunos_instrutor ai GROUP BY ai.plano " +
+            "UNION ALL " +
+            "SELECT 'SEM_AVALIACAO', CAST(ai.id AS BIGINT), ai.nome, CAST(NULL AS BIGINT), MAX(av.data_avaliacao) " +
+            "FROM alunos_instrutor ai LEFT JOIN avaliacoes_fisicas av ON av.aluno_id = ai.id " +
+            "GROUP BY ai.id, ai.nome " +
+            "HAVING MAX(av.data_avaliacao) IS NULL OR MAX(av.data_avaliacao) < CURRENT_DATE - CAST(:dias AS INT) " +
+            "UNION ALL " +
+            "SELECT 'TREINO', CAST(t.id AS BIGINT), t.nome, COUNT(*), CAST(NULL AS DATE) " +
+            "FROM alunos_instrutor ai JOIN aluno_treino at ON at.aluno_id = ai.id JOIN treinos t ON t.id = at.treino_id " +
+            "GROUP BY t.id, t.nome", nativeQuery = true)
+    List<Object[]> consultarDashboard(@Param("id") Long id, @Param("dias") int dias);
+
+    // Versão do instrutor e total de alunos (totalAlunos), usados no ETag de um instrutor
+    @Query("SELECT i.versao, COUNT(a) FROM Instrutor i LEFT JOIN i.alunos a WHERE i.id = :id GROUP BY i.versao")
+    List<Object[]> resumirVersoesPorId(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) FROM Aluno a WHERE a.instrutor.id = :id")
+    long contarAlunos(@Param("id") Long id);
 }
@@ -0,0 +1,26 @@
+package com.academia.academia_api.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+
+/**
+ * Contadores de alteração mantidos por triggers (ver V19). O contador "cadastro" muda a cada transação
+ * confirmada que altera alunos, avaliações, atribuições de treinos ou instrutores, e é lido por chave
+ * primária nos ETags das listagens completas.
+ */
+@Repository
+public class MarcadorAlteracaoRepository {
+
+    public static final String CADASTRO = "cadastro";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long versao(String nome) {
+        return jdbcTemplate.queryForObject("SELECT versao FROM marcadores_alteracao WHERE nome = :nome",
+                Map.of("nome", nome), Long.class);
+    }
+}
@@ -0,0 +1,119 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.DTO.response.ProgressoGrupoResponseDTO;
+import com.academia.academia_api.DTO.response.ProgressoMensalResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabelas de agregação de progresso (peso/IMC) por aluno, recalculadas com funções de janela
+ * apenas para os alunos afetados. Os relatórios agrupam essas linhas por plano, instrutor ou
+ * faixa etária, sem ler o histórico de avaliações.
+ */
+@Repository
+public class ProgressoRepository {
+
+    // Expressões de agrupamento aceitas pelos relatórios (chave = dimensão da URL)
+    private static final Map<String, String> DIMENSOES = Map.of(
+            "plano", "COALESCE(a.plano, 'Sem plano')",
+            "instrutor", "COALESCE(i.nome, 'Sem instrutor')",
+            "faixa-etaria", "CASE " +
+                    "WHEN a.data_nascimento IS NULL THEN 'Sem data de nascimento' " +
+                    "WHEN date_part('year', age(a.data_nascimento)) <= 25 THEN 'Até 25 anos' " +
+                    "WHEN date_part('year', age(a.data_nascimento)) <= 35 THEN '26-35 anos' " +
+                    "WHEN date_part('year', age(a.data_nascimento)) <= 45 THEN '36-45 anos' " +
+                    "WHEN date_part('year', age(a.data_nascimento)) <= 60 THEN '46-60 anos' " +
+                    "ELSE '60+ anos' END");
+
+    private static final String RECALCULAR_PROGRESSO =
+            "INSERT INTO progresso_aluno (aluno_id, primeira_data, primeiro_peso, primeiro_imc, " +
+            "ultima_data, ultimo_peso, ultimo_imc, total_avaliacoes) " +
+            "SELECT DISTINCT ON (aluno_id) aluno_id, " +
+            "FIRST_VALUE(data_avaliacao) OVER w, FIRST_VALUE(peso) OVER w, FIRST_VALUE(imc) OVER w, " +
+            "LAST_VALUE(data_avaliacao) OVER w, LAST_VALUE(peso) OVER w, LAST_VALUE(imc) OVER w, " +
+            "COUNT(*) OVER w " +
+            "FROM avaliacoes_fisicas WHERE aluno_id IN (:ids) " +
+            "WINDOW w AS (PARTITION BY aluno_id ORDER BY data_avaliacao, id " +
+            "ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING) " +
+            "ORDER BY aluno_id " +
+            "ON CONFLICT (aluno_id) DO UPDATE SET primeira_data = EXCLUDED.primeira_data, " +
+            "primeiro_peso = EXCLUDED.primeiro_peso, primeiro_imc = EXCLUDED.primeiro_imc, " +
+            "ultima_data = EXCLUDED.ultima_data, ultimo_peso = EXCLUDED.ultimo_peso, " +
+            "ultimo_imc = EXCLUDED.ultimo_imc, total_avaliacoes = EXCLUDED.total_avaliacoes";
+
+    private static final String RECALCULAR_MENSAL =
+            "INSERT INTO progresso_aluno_mensal (aluno_id, mes, total_avaliacoes, peso_medio, imc_medio) " +
+            "SELECT aluno_id, CAST(date_trunc('month', data_avaliacao) AS DATE), COUNT(*), AVG(peso), AVG(imc) " +
+            "FROM avaliacoes_fisicas WHERE aluno_id IN (:ids) GROUP BY 1, 2 " +
+            "ON CONFLICT (aluno_id, mes) DO UPDATE SET total_avaliacoes = EXCLUDED.total_avaliacoes, " +
+            "peso_medio = EXCLUDED.peso_medio, imc_medio = EXCLUDED.imc_medio";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public static boolean dimensaoValida(String dimensao) {
+        return DIMENSOES.containsKey(dimensao);
+    }
+
+    // Precisa rodar em transação: o bloqueio por aluno vale até o commit
+    public void recalcularAlunos(Collection<Long> alunoIds) {
+        BloqueioAgregacao.bloquear(jdbcTemplate, BloqueioAgregacao.PROGRESSO_ALUNO, alunoIds);
+        MapSqlParameterSource parametros = new MapSqlParameterSource("ids", alunoIds);
+        // Remove o que deixou de existir; o restante é sobrescrito pelos upserts
+        jdbcTemplate.update("DELETE FROM progresso_aluno p WHERE p.aluno_id IN (:ids) " +
+                "AND NOT EXISTS (SELECT 1 FROM avaliacoes_fisicas av WHERE av.aluno_id = p.aluno_id)", parametros);
+        jdbcTemplate.update("DELETE FROM progresso_aluno_mensal m WHERE m.aluno_id IN (:ids) " +
+                "AND NOT EXISTS (SELECT 1 FROM avaliacoes_fisicas av WHERE av.aluno_id = m.aluno_id " +
+                "AND CAST(date_trunc('month', av.data_avaliacao) AS DATE) = m.mes)", parametros);
+        jdbcTemplate.update(RECALCULAR_PROGRESSO, parametros);
+        jdbcTemplate.update(RECALCULAR_MENSAL, parametros);
+    }
+
+    // Variação média entre a primeira e a última avaliação, só para alunos com duas ou mais
+    public List<ProgressoGrupoResponseDTO> variacaoPorGrupo(String dimensao) {
+        String grupo = DIMENSOES.get(dimensao);
+        String sql = "SELECT " + grupo + " AS grupo, COUNT(*) AS total_alunos, " +
+                "AVG(p.ultimo_peso - p.primeiro_peso) AS variacao_peso, " +
+                "AVG(p.ultimo_imc - p.primeiro_imc) AS variacao_imc " +
+                "FROM progresso_aluno p JOIN alunos a ON a.id = p.aluno_id " +
+                "LEFT JOIN instrutores i ON i.id = a.instrutor_id " +
+                "WHERE p.total_avaliacoes > 1 GROUP BY 1 ORDER BY 1";
+        return jdbcTemplate.query(sql, (rs, linha) -> new ProgressoGrupoResponseDTO(
+                rs.getString("grupo"),
+                rs.getLong("total_alunos"),
+                rs.getBigDecimal("variacao_peso"),
+                rs.getBigDecimal("variacao_imc")));
+    }
+
+    // Médias mensais por grupo e a variação em relação ao mês anterior do mesmo grupo (LAG)
+    public List<ProgressoMensalResponseDTO> mensalPorGrupo(String dimensao, LocalDate inicio, LocalDate fim) {
+        String grupo = DIMENSOES.get(dimensao);
+        String sql = "SELECT grupo, mes, total_avaliacoes, peso_medio, imc_medio, " +
+                "peso_medio - LAG(peso_medio) OVER (PARTITION BY grupo ORDER BY mes) AS variacao_peso, " +
+                "imc_medio - LAG(imc_medio) OVER (PARTITION BY grupo ORDER BY mes) AS variacao_imc " +
+                "FROM (SELECT " + grupo + " AS grupo, m.mes, SUM(m.total_avaliacoes) AS total_avaliacoes, " +
+                "AVG(m.peso_medio) AS peso_medio, AVG(m.imc_medio) AS imc_medio " +
+                "FROM progresso_aluno_mensal m JOIN alunos a ON a.id = m.aluno_id " +
+                "LEFT JOIN instrutores i ON i.id = a.instrutor_id " +
+                "WHERE m.mes BETWEEN :inicio AND :fim GROUP BY 1, 2) meses " +
+                "ORDER BY grupo, mes";
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("inicio", inicio)
+                .addValue("fim", fim);
+        return jdbcTemplate.query(sql, parametros, (rs, linha) -> new ProgressoMensalResponseDTO(
+                rs.getString("grupo"),
+                rs.getObject("mes", LocalDate.class),
+                rs.getLong("total_avaliacoes"),
+                rs.getBigDecimal("peso_medio"),
+                rs.getBigDecimal("imc_medio"),
+                rs.getBigDecimal("variacao_peso"),
+                rs.getBigDecimal("variacao_imc")));
+    }
+}
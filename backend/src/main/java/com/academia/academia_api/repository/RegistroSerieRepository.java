@@ -0,0 +1,17 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.model.RegistroSerie;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RegistroSerieRepository extends JpaRepository<RegistroSerie, Long> {
+
+    @Query(value = "SELECT r FROM RegistroSerie r WHERE r.aluno.id = :alunoId ORDER BY r.realizadoEm DESC, r.id DESC",
+            countQuery = "SELECT COUNT(r) FROM RegistroSerie r WHERE r.aluno.id = :alunoId")
+    Page<RegistroSerie> findByAlunoId(@Param("alunoId") Long alunoId, Pageable pageable);
+}
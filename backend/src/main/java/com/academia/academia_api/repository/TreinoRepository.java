@@ -1,9 +1,34 @@
 package com.academia.academia_api.repository;
 
 import com.academia.academia_api.model.Treino;
+import com.academia.academia_api.repository.projection.TreinoResumo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TreinoRepository extends JpaRepository<Treino, Long> {
+public interface TreinoRepository extends JpaRepository<Treino, Long>, TreinoRepositoryCustom {
+
+    @Query("SELECT t.id AS id, t.nome AS nome, t.objetivo AS objetivo, t.nivel AS nivel, " +
+            "t.versao AS versao, COUNT(a) AS totalAlunos " +
+            "FROM Treino t LEFT JOIN t.alunos a " +
+            "GROUP BY t.id, t.nome, t.objetivo, t.nivel, t.versao ORDER BY t.id")
+    List<TreinoResumo> findResumos();
+
+    @Query("SELECT t.id AS id, t.nome AS nome, t.objetivo AS objetivo, t.nivel AS nivel, " +
+            "t.versao AS versao, COUNT(a) AS totalAlunos " +
+            "FROM Treino t LEFT JOIN t.alunos a WHERE t.id = :id " +
+            "GROUP BY t.id, t.nome, t.objetivo, t.nivel, t.versao")
+    Optional<TreinoResumo> findResumoById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) FROM Treino t JOIN t.alunos a WHERE t.id = :id")
+    long contarAlunos(@Param("id") Long id);
+
+    // Treino e exercícios (ordenados pelo @OrderBy da coleção) em um único join fetch
+    @Query("SELECT DISTINCT t FROM Treino t LEFT JOIN FETCH t.exercicios WHERE t.id = :id")
+    Optional<Treino> findCompletoById(@Param("id") Long id);
 }
@@ -0,0 +1,12 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.DTO.request.TreinoRequestDTO;
+import com.academia.academia_api.DTO.response.TreinoResponseDTO;
+
+import java.util.Optional;
+
+public interface TreinoRepositoryCustom {
+
+    // Vazio quando nenhuma linha foi atualizada (id inexistente ou versão diferente da esperada)
+    Optional<TreinoResponseDTO> atualizarParcial(Long id, TreinoRequestDTO campos, Long versaoEsperada);
+}
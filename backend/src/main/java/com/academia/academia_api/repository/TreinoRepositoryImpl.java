@@ -0,0 +1,35 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.DTO.request.TreinoRequestDTO;
+import com.academia.academia_api.DTO.response.TreinoResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Optional;
+
+public class TreinoRepositoryImpl implements TreinoRepositoryCustom {
+
+    // O total de alunos sai no próprio RETURNING, sem uma segunda consulta
+    private static final String COLUNAS = "id, nome, objetivo, nivel, versao, " +
+            "(SELECT COUNT(*) FROM aluno_treino at WHERE at.treino_id = treinos.id) AS total_alunos";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<TreinoResponseDTO> atualizarParcial(Long id, TreinoRequestDTO campos, Long versaoEsperada) {
+        AtualizacaoParcial atualizacao = new AtualizacaoParcial()
+                .definir("nome", campos.getNome())
+                .definir("objetivo", campos.getObjetivo())
+                .definir("nivel", campos.getNivel());
+        String sql = atualizacao.sql("treinos", id, versaoEsperada, COLUNAS);
+        return jdbcTemplate.query(sql, atualizacao.parametros(), (rs, linha) -> new TreinoResponseDTO(
+                rs.getLong("id"),
+                rs.getString("nome"),
+                rs.getString("objetivo"),
+                rs.getString("nivel"),
+                rs.getLong("total_alunos"),
+                rs.getLong("versao")
+        )).stream().findFirst();
+    }
+}
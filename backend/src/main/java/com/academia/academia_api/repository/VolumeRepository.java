@@ -0,0 +1,108 @@
+package com.academia.academia_api.repository;
+
+import com.academia.academia_api.DTO.response.VolumeGrupoResponseDTO;
+import com.academia.academia_api.DTO.response.VolumeTreinoResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tabelas de agregação de volume (séries x repetições x carga). Os recálculos são feitos no banco,
+ * apenas para os treinos/alunos afetados; grupo muscular nulo é gravado como ''. Cada recálculo
+ * bloqueia antes as chaves afetadas (ver {@link BloqueioAgregacao}) e precisa rodar em transação.
+ */
+@Repository
+public class VolumeRepository {
+
+    private static final String RECALCULAR_TREINOS =
+            "INSERT INTO volume_treino_grupo (treino_id, grupo_muscular, total_exercicios, volume) " +
+            "SELECT e.treino_id, COALESCE(e.grupo_muscular, ''), COUNT(*), " +
+            "COALESCE(SUM(COALESCE(e.series, 0) * COALESCE(e.repeticoes, 0) * COALESCE(e.carga, 0)), 0) " +
+            "FROM exercicios e WHERE e.treino_id IN (:ids) GROUP BY 1, 2 " +
+            "ON CONFLICT (treino_id, grupo_muscular) DO UPDATE " +
+            "SET total_exercicios = EXCLUDED.total_exercicios, volume = EXCLUDED.volume";
+
+    private static final String RECALCULAR_ALUNOS =
+            "INSERT INTO volume_aluno_grupo (aluno_id, grupo_muscular, total_exercicios, volume) " +
+            "SELECT at.aluno_id, v.grupo_muscular, SUM(v.total_exercicios), SUM(v.volume) " +
+            "FROM aluno_treino at JOIN volume_treino_grupo v ON v.treino_id = at.treino_id " +
+            "WHERE at.aluno_id IN (:ids) GROUP BY 1, 2 " +
+            "ON CONFLICT (aluno_id, grupo_muscular) DO UPDATE " +
+            "SET total_exercicios = EXCLUDED.total_exercicios, volume = EXCLUDED.volume";
+
+    private static final RowMapper<VolumeGrupoResponseDTO> GRUPO = (rs, linha) -> new VolumeGrupoResponseDTO(
+            rs.getString("grupo_muscular"),
+            rs.getLong("total_exercicios"),
+            rs.getBigDecimal("volume"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void recalcularTreinos(Collection<Long> treinoIds) {
+        BloqueioAgregacao.bloquear(jdbcTemplate, BloqueioAgregacao.VOLUME_TREINO, treinoIds);
+        MapSqlParameterSource parametros = new MapSqlParameterSource("ids", treinoIds);
+        // Remove só os grupos que deixaram de existir; os demais são sobrescritos pelo upsert
+        jdbcTemplate.update("DELETE FROM volume_treino_grupo v WHERE v.treino_id IN (:ids) " +
+                "AND NOT EXISTS (SELECT 1 FROM exercicios e WHERE e.treino_id = v.treino_id " +
+                "AND COALESCE(e.grupo_muscular, '') = v.grupo_muscular)", parametros);
+        jdbcTemplate.update(RECALCULAR_TREINOS, parametros);
+    }
+
+    public void recalcularAlunos(Collection<Long> alunoIds) {
+        BloqueioAgregacao.bloquear(jdbcTemplate, BloqueioAgregacao.VOLUME_ALUNO, alunoIds);
+        MapSqlParameterSource parametros = new MapSqlParameterSource("ids", alunoIds);
+        jdbcTemplate.update("DELETE FROM volume_aluno_grupo v WHERE v.aluno_id IN (:ids) " +
+                "AND NOT EXISTS (SELECT 1 FROM aluno_treino at JOIN volume_treino_grupo t ON t.treino_id = at.treino_id " +
+                "WHERE at.aluno_id = v.aluno_id AND t.grupo_muscular = v.grupo_muscular)", parametros);
+        jdbcTemplate.update(RECALCULAR_ALUNOS, parametros);
+    }
+
+    /**
+     * Para recálculos de alunos causados por mudanças nos vínculos aluno-treino: bloqueia compartilhados os
+     * treinos dos alunos, de modo que um recálculo de treino em andamento confirme antes de o volume dele
+     * ser lido. Sem isso, esse recálculo (que ainda não enxerga os vínculos novos) não atualizaria os
+     * alunos e eles ficariam com o volume antigo do treino. Precisa vir antes de {@link #recalcularAlunos}.
+     */
+    public void bloquearTreinosDosAlunos(Collection<Long> alunoIds) {
+        List<Long> treinoIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(treino_id AS BIGINT) FROM aluno_treino WHERE aluno_id IN (:ids)",
+                new MapSqlParameterSource("ids", alunoIds), Long.class);
+        BloqueioAgregacao.bloquearCompartilhado(jdbcTemplate, BloqueioAgregacao.VOLUME_TREINO, treinoIds);
+    }
+
+    public List<Long> findAlunoIdsPorTreinos(Collection<Long> treinoIds) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT CAST(aluno_id AS BIGINT) FROM aluno_treino WHERE treino_id IN (:ids)",
+                new MapSqlParameterSource("ids", treinoIds), Long.class);
+    }
+
+    public List<VolumeTreinoResponseDTO> totaisPorTreino() {
+        return jdbcTemplate.query("SELECT CAST(t.id AS BIGINT) AS treino_id, t.nome, " +
+                "COALESCE(SUM(v.total_exercicios), 0) AS total_exercicios, COALESCE(SUM(v.volume), 0) AS volume " +
+                "FROM treinos t LEFT JOIN volume_treino_grupo v ON v.treino_id = t.id " +
+                "GROUP BY t.id, t.nome ORDER BY t.id", (rs, linha) -> new VolumeTreinoResponseDTO(
+                rs.getLong("treino_id"),
+                rs.getString("nome"),
+                rs.getLong("total_exercicios"),
+                rs.getBigDecimal("volume")));
+    }
+
+    public List<VolumeGrupoResponseDTO> gruposDoTreino(Long treinoId) {
+        return jdbcTemplate.query("SELECT grupo_muscular, total_exercicios, volume FROM volume_treino_grupo " +
+                "WHERE treino_id = :id ORDER BY volume DESC, grupo_muscular", new MapSqlParameterSource("id", treinoId), GRUPO);
+    }
+
+    public List<VolumeGrupoResponseDTO> gruposDoAluno(Long alunoId) {
+        return jdbcTemplate.query("SELECT grupo_muscular, total_exercicios, volume FROM volume_aluno_grupo " +
+                "WHERE aluno_id = :id ORDER BY volume DESC, grupo_muscular", new MapSqlParameterSource("id", alunoId), GRUPO);
+    }
+
+    public List<VolumeGrupoResponseDTO> totaisPorGrupo() {
+        return jdbcTemplate.query("SELECT grupo_muscular, SUM(total_exercicios) AS total_exercicios, SUM(volume) AS volume " +
+                "FROM volume_treino_grupo GROUP BY grupo_muscular ORDER BY volume DESC, grupo_muscular", GRUPO);
+    }
+}
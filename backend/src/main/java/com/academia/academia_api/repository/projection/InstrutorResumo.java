@@ -0,0 +1,22 @@
+package com.academia.academia_api.repository.projection;
+
+/**
+ * Campos do instrutor com a quantidade de alunos vinculados, sem carregar os alunos.
+ */
+public interface InstrutorResumo {
+    Long getId();
+
+    String getNome();
+
+    String getCpf();
+
+    String getTelefone();
+
+    String getEmail();
+
+    String getNumeroCreef();
+
+    Long getVersao();
+
+    Long getTotalAlunos();
+}
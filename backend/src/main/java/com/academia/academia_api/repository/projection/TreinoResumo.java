@@ -0,0 +1,18 @@
+package com.academia.academia_api.repository.projection;
+
+/**
+ * Campos do treino com a quantidade de alunos matriculados, sem carregar os alunos.
+ */
+public interface TreinoResumo {
+    Long getId();
+
+    String getNome();
+
+    String getObjetivo();
+
+    String getNivel();
+
+    Long getVersao();
+
+    Long getTotalAlunos();
+}
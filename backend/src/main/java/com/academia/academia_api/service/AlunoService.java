@@ -1,39 +1,123 @@
 package com.academia.academia_api.service;
 
-import java.time.LocalDate;
-import java.time.Period;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.academia.academia_api.config.CacheConfig;
 import com.academia.academia_api.model.Treino;
 import com.academia.academia_api.repository.TreinoRepository;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.academia.academia_api.DTO.mapper.AlunoMapper;
+import com.academia.academia_api.DTO.mapper.AvaliacaoFisicaMapper;
 import com.academia.academia_api.DTO.request.AlunoRequestDTO;
+import com.academia.academia_api.DTO.request.AtribuicaoTreinosRequestDTO;
+import com.academia.academia_api.DTO.request.AvaliacaoFisicaRequestDTO;
+import com.academia.academia_api.DTO.response.AlunoExportacaoDTO;
 import com.academia.academia_api.DTO.response.AlunoResponseDTO;
+import com.academia.academia_api.DTO.response.AtribuicaoTreinosResponseDTO;
+import com.academia.academia_api.DTO.response.ErroImportacaoDTO;
+import com.academia.academia_api.DTO.response.ImportacaoResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaCursorResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
 import com.academia.academia_api.model.Aluno;
+import com.academia.academia_api.model.AvaliacaoFisica;
 import com.academia.academia_api.model.Instrutor;
 import com.academia.academia_api.repository.AlunoRepository;
 import com.academia.academia_api.repository.InstrutorRepository;
+import com.academia.academia_api.repository.MarcadorAlteracaoRepository;
+import com.academia.academia_api.util.CsvUtil;
+import com.academia.academia_api.util.ETagUtil;
 
 @Service
 public class AlunoService {
 
+    // Limite de ids por consulta IN ao buscar avaliações/treinos em lote
+    private static final int LOTE_IDS = 1000;
+
+    // Na mesma ordem dos índices retornados por AlunoRepository.contarPorFaixaEtaria
+    private static final String[] FAIXAS_ETARIAS =
+            {"Até 25 anos", "26-35 anos", "36-45 anos", "46-60 anos", "60+ anos"};
+
+    private static final String CABECALHO_CSV =
+            "id,nome,dataNascimento,telefone,email,endereco,plano,nomeInstrutor";
+
     @Autowired
     private AlunoRepository alunoRepository;
 
+    @Autowired
+    private MarcadorAlteracaoRepository marcadorAlteracaoRepository;
+
     @Autowired
     private InstrutorRepository instrutorRepository;
 
     @Autowired
     private TreinoRepository treinoRepository;
 
+    @Autowired
+    private VolumeService volumeService;
+
+    @Autowired
+    private ProgressoService progressoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${academia.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${academia.paginacao.tamanho-maximo:200}")
+    private int tamanhoPaginaMaximo;
+
+    @Value("${academia.importacao.tamanho-lote:500}")
+    private int tamanhoLoteImportacao;
+
+    @Value("${academia.busca.tamanho-padrao:20}")
+    private int tamanhoBuscaPadrao;
+
+    @Value("${academia.busca.limite-maximo:50}")
+    private int limiteBusca;
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.INSTRUTORES, allEntries = true),
+            @CacheEvict(value = CacheConfig.FAIXA_ETARIA, allEntries = true)
+    })
     public AlunoResponseDTO criarAluno(AlunoRequestDTO dto) {
         Instrutor instrutor = null;
 
@@ -50,12 +134,134 @@ public class AlunoService {
         Aluno aluno = AlunoMapper.toEntity(dto, instrutor, treinos);
 
         Aluno salvo = alunoRepository.save(aluno);
+        if (!treinos.isEmpty()) {
+            volumeService.atualizarAlunos(List.of(salvo.getId()));
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
         return AlunoMapper.toResponseDTO(salvo);
     }
 
-    public AlunoResponseDTO atualizarAluno(Long id, AlunoRequestDTO dto) {
+    /**
+     * Importa vários alunos de uma vez. Instrutores, treinos e e-mails já cadastrados são resolvidos
+     * com uma consulta cada; registros inválidos são reportados e os válidos inseridos em lotes,
+     * limpando o contexto de persistência entre um lote e outro.
+     */
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.INSTRUTORES, allEntries = true),
+            @CacheEvict(value = CacheConfig.FAIXA_ETARIA, allEntries = true)
+    })
+    @Transactional
+    public ImportacaoResponseDTO importarAlunos(List<AlunoRequestDTO> dtos) {
+        Set<Long> instrutorIds = new HashSet<>();
+        Set<Long> treinoIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (AlunoRequestDTO dto : dtos) {
+            if (dto.getInstrutorId() != null) {
+                instrutorIds.add(dto.getInstrutorId());
+            }
+            if (dto.getTreinoIds() != null) {
+                treinoIds.addAll(dto.getTreinoIds());
+            }
+            if (dto.getEmail() != null) {
+                emails.add(dto.getEmail());
+            }
+        }
+
+        Map<Long, Instrutor> instrutores = instrutorRepository.findAllById(instrutorIds)
+                .stream()
+                .collect(Collectors.toMap(Instrutor::getId, instrutor -> instrutor));
+        Map<Long, Treino> treinos = treinoRepository.findAllById(treinoIds)
+                .stream()
+                .collect(Collectors.toMap(Treino::getId, treino -> treino));
+        Set<String> emailsEmUso = new HashSet<>();
+        List<String> listaEmails = new ArrayList<>(emails);
+        for (int i = 0; i < listaEmails.size(); i += LOTE_IDS) {
+            emailsEmUso.addAll(alunoRepository.findEmailsExistentes(
+                    listaEmails.subList(i, Math.min(i + LOTE_IDS, listaEmails.size()))));
+        }
+
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        List<Aluno> lote = new ArrayList<>();
+        int importados = 0;
+        boolean treinosAtribuidos = false;
+
+        for (int i = 0; i < dtos.size(); i++) {
+            AlunoRequestDTO dto = dtos.get(i);
+            String erro = validarImportacao(dto, instrutores, treinos, emailsEmUso);
+            if (erro != null) {
+                erros.add(new ErroImportacaoDTO(i + 1, erro));
+                continue;
+            }
+            if (dto.getEmail() != null) {
+                emailsEmUso.add(dto.getEmail());
+            }
+
+            List<Treino> treinosDoAluno = dto.getTreinoIds() == null
+                    ? new ArrayList<>()
+                    : dto.getTreinoIds().stream().distinct().map(treinos::get).collect(Collectors.toList());
+            Instrutor instrutor = dto.getInstrutorId() != null ? instrutores.get(dto.getInstrutorId()) : null;
+            lote.add(AlunoMapper.toEntity(dto, instrutor, treinosDoAluno));
+            treinosAtribuidos |= !treinosDoAluno.isEmpty();
+
+            if (lote.size() >= tamanhoLoteImportacao) {
+                importados += salvarLote(lote);
+            }
+        }
+        importados += salvarLote(lote);
+        if (treinosAtribuidos) {
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
+
+        return new ImportacaoResponseDTO(dtos.size(), importados, erros);
+    }
+
+    private static String validarImportacao(AlunoRequestDTO dto, Map<Long, Instrutor> instrutores,
+                                            Map<Long, Treino> treinos, Set<String> emailsEmUso) {
+        if (dto.getNome() == null || dto.getNome().isBlank()) {
+            return "Nome é obrigatório";
+        }
+        if (dto.getEmail() != null && emailsEmUso.contains(dto.getEmail())) {
+            return "E-mail já cadastrado: " + dto.getEmail();
+        }
+        if (dto.getInstrutorId() != null && !instrutores.containsKey(dto.getInstrutorId())) {
+            return "Instrutor não encontrado: " + dto.getInstrutorId();
+        }
+        if (dto.getTreinoIds() != null) {
+            for (Long treinoId : dto.getTreinoIds()) {
+                if (!treinos.containsKey(treinoId)) {
+                    return "Treino não encontrado: " + treinoId;
+                }
+            }
+        }
+        return null;
+    }
+
+    private int salvarLote(List<Aluno> lote) {
+        int quantidade = lote.size();
+        if (quantidade > 0) {
+            alunoRepository.saveAll(lote);
+            entityManager.flush();
+            List<Long> comTreinos = lote.stream()
+                    .filter(aluno -> !aluno.getTreinos().isEmpty())
+                    .map(Aluno::getId)
+                    .toList();
+            volumeService.atualizarAlunos(comTreinos);
+            entityManager.clear();
+            lote.clear();
+        }
+        return quantidade;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ALUNOS, key = "#id"),
+            @CacheEvict(value = CacheConfig.INSTRUTORES, allEntries = true),
+            @CacheEvict(value = CacheConfig.FAIXA_ETARIA, allEntries = true)
+    })
+    @Transactional
+    public AlunoResponseDTO atualizarAluno(Long id, AlunoRequestDTO dto, Long versaoEsperada) {
         Aluno alunoExistente = alunoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
+        ETagUtil.verificarVersao(versaoEsperada, alunoExistente.getVersao());
 
         Instrutor instrutor = null;
         if (dto.getInstrutorId() != null) {
@@ -72,95 +278,331 @@ public class AlunoService {
         alunoExistente.setPlano(dto.getPlano());
         alunoExistente.setInstrutor(instrutor);
 
-        // Atualiza treinos
+        // Atualiza treinos; a coleção só é substituída (e o volume e o catálogo recalculados) quando muda
         List<Treino> treinos = new ArrayList<>();
         if (dto.getTreinoIds() != null && !dto.getTreinoIds().isEmpty()) {
             treinos = treinoRepository.findAllById(dto.getTreinoIds());
         }
-        alunoExistente.setTreinos(treinos);
+        boolean treinosAlterados = !idsTreinos(alunoExistente.getTreinos()).equals(idsTreinos(treinos));
+        if (treinosAlterados) {
+            alunoExistente.setTreinos(treinos);
+        }
 
         // Atualiza avaliações físicas
         if (dto.getAvaliacoes() != null) {
-            alunoExistente.getAvaliacoes().clear();
-
-            alunoExistente.getAvaliacoes().addAll(
-                    dto.getAvaliacoes().stream().map(aDto -> {
-                        var avaliacao = new com.academia.academia_api.model.AvaliacaoFisica();
-                        avaliacao.setDataAvaliacao(aDto.getDataAvaliacao());
-                        avaliacao.setPeso(aDto.getPeso());
-                        avaliacao.setAltura(aDto.getAltura());
-                        avaliacao.setImc(aDto.getImc());
-                        avaliacao.setObservacoes(aDto.getObservacoes());
-                        avaliacao.setAluno(alunoExistente);
-                        return avaliacao;
-                    }).collect(Collectors.toList())
-            );
-        }
-
-        Aluno atualizado = alunoRepository.save(alunoExistente);
+            mesclarAvaliacoes(alunoExistente, dto.getAvaliacoes());
+        }
+
+        // flush para que a versão incrementada já saia na resposta
+        Aluno atualizado = alunoRepository.saveAndFlush(alunoExistente);
+        if (treinosAlterados) {
+            volumeService.atualizarAlunos(List.of(id));
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
+        if (dto.getAvaliacoes() != null) {
+            progressoService.atualizarAlunos(List.of(id));
+        }
         return AlunoMapper.toResponseDTO(atualizado);
     }
 
+    private static Set<Long> idsTreinos(List<Treino> treinos) {
+        return treinos.stream().map(Treino::getId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Mescla as avaliações recebidas com as existentes pelo id: avaliações sem id são inseridas,
+     * as existentes só geram UPDATE se algum campo mudou e as que não vieram na lista são removidas.
+     */
+    private void mesclarAvaliacoes(Aluno aluno, List<AvaliacaoFisicaRequestDTO> dtos) {
+        Map<Long, AvaliacaoFisica> existentes = new HashMap<>();
+        for (AvaliacaoFisica avaliacao : aluno.getAvaliacoes()) {
+            existentes.put(avaliacao.getId(), avaliacao);
+        }
+
+        Set<Long> mantidas = new HashSet<>();
+        List<AvaliacaoFisica> novas = new ArrayList<>();
+        for (AvaliacaoFisicaRequestDTO aDto : dtos) {
+            if (aDto.getId() == null) {
+                novas.add(AvaliacaoFisicaMapper.toEntity(aDto, aluno));
+                continue;
+            }
+
+            AvaliacaoFisica avaliacao = existentes.get(aDto.getId());
+            if (avaliacao == null) {
+                throw new RuntimeException("Avaliação física não encontrada para o aluno: " + aDto.getId());
+            }
+            avaliacao.setDataAvaliacao(aDto.getDataAvaliacao());
+            avaliacao.setPeso(aDto.getPeso());
+            avaliacao.setAltura(aDto.getAltura());
+            avaliacao.setImc(aDto.getImc());
+            avaliacao.setObservacoes(aDto.getObservacoes());
+            mantidas.add(avaliacao.getId());
+        }
+
+        aluno.getAvaliacoes().removeIf(avaliacao -> !mantidas.contains(avaliacao.getId()));
+        aluno.getAvaliacoes().addAll(novas);
+    }
+
+    public String etagLista() {
+        return ETagUtil.colecao("alunos", marcadorAlteracaoRepository.versao(MarcadorAlteracaoRepository.CADASTRO));
+    }
+
+    // Consultado antes do corpo: uma alteração confirmada entre as duas leituras deixa o ETag mais antigo
+    // que o corpo, o que só custa um 200 a mais na próxima revalidação
+    public String etag(Long id) {
+        Object[] linha = alunoRepository.resumirVersoesPorId(id).stream().findFirst()
+                .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
+        return ETagUtil.recurso("aluno", id, ((Number) linha[0]).longValue(), linha[1], linha[2], linha[3], linha[4]);
+    }
+
     public List<AlunoResponseDTO> listarTodos() {
-        return alunoRepository.findAll()
-                .stream()
-                .map(AlunoMapper::toResponseDTO)
-                .collect(Collectors.toList());
+        return toResponseDTOs(alunoRepository.findAllComInstrutor());
+    }
+
+    public PaginaCursorResponseDTO<AlunoResponseDTO> listarPagina(String cursor, Integer tamanho, String ordenarPor) {
+        int limite = tamanho == null ? tamanhoPaginaPadrao : Math.min(Math.max(tamanho, 1), tamanhoPaginaMaximo);
+        // Busca uma linha a mais para saber se existe próxima página sem precisar de COUNT
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        List<Aluno> alunos;
+        if ("id".equals(ordenarPor)) {
+            alunos = cursor == null
+                    ? alunoRepository.findPaginaPorId(pageable)
+                    : alunoRepository.findPaginaPorIdApos(Long.valueOf(decodificarCursor(cursor, ordenarPor)[1]), pageable);
+        } else if ("nome".equals(ordenarPor)) {
+            if (cursor == null) {
+                alunos = alunoRepository.findPaginaPorNome(pageable);
+            } else {
+                String[] partes = decodificarCursor(cursor, ordenarPor);
+                alunos = alunoRepository.findPaginaPorNomeApos(partes[2], Long.valueOf(partes[1]), pageable);
+            }
+        } else {
+            throw new RuntimeException("Ordenação inválida: " + ordenarPor);
+        }
+
+        String proximoCursor = null;
+        if (alunos.size() > limite) {
+            alunos = alunos.subList(0, limite);
+            proximoCursor = codificarCursor(alunos.get(limite - 1), ordenarPor);
+        }
+
+        List<AlunoResponseDTO> conteudo = toResponseDTOs(alunos);
+        return new PaginaCursorResponseDTO<>(conteudo, conteudo.size(), proximoCursor);
+    }
+
+    private String codificarCursor(Aluno ultimo, String ordenarPor) {
+        String valor = ordenarPor + ":" + ultimo.getId();
+        if ("nome".equals(ordenarPor)) {
+            valor += ":" + ultimo.getNome();
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
     }
 
+    private String[] decodificarCursor(String cursor, String ordenarPor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(":", 3);
+            int esperado = "nome".equals(ordenarPor) ? 3 : 2;
+            if (partes.length != esperado || !partes[0].equals(ordenarPor)) {
+                throw new RuntimeException("Cursor inválido");
+            }
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+    }
+
+    public PaginaResponseDTO<AlunoResponseDTO> listarPorTreino(Long treinoId, int pagina, Integer tamanho) {
+        if (!treinoRepository.existsById(treinoId)) {
+            throw new RuntimeException("Treino não encontrado");
+        }
+        Page<Aluno> alunos = alunoRepository.findByTreinoId(treinoId, paginaOrdenadaPorNome(pagina, tamanho));
+        return PaginaResponseDTO.of(alunos, toResponseDTOs(alunos.getContent()));
+    }
+
+    public PaginaResponseDTO<AlunoResponseDTO> listarPorInstrutor(Long instrutorId, int pagina, Integer tamanho) {
+        if (!instrutorRepository.existsById(instrutorId)) {
+            throw new RuntimeException("Instrutor não encontrado");
+        }
+        Page<Aluno> alunos = alunoRepository.findByInstrutorId(instrutorId, paginaOrdenadaPorNome(pagina, tamanho));
+        return PaginaResponseDTO.of(alunos, toResponseDTOs(alunos.getContent()));
+    }
+
+    private Pageable paginaOrdenadaPorNome(int pagina, Integer tamanho) {
+        int limite = tamanho == null ? tamanhoPaginaPadrao : Math.min(Math.max(tamanho, 1), tamanhoPaginaMaximo);
+        return PageRequest.of(Math.max(pagina, 0), limite, Sort.by("nome", "id"));
+    }
+
+    @Cacheable(value = CacheConfig.ALUNOS, key = "#id")
     public AlunoResponseDTO buscarPorId(Long id) {
-        Aluno aluno = alunoRepository.findById(id)
+        Aluno aluno = alunoRepository.findComInstrutorById(id)
                 .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
-        return AlunoMapper.toResponseDTO(aluno);
+        return toResponseDTOs(List.of(aluno)).get(0);
+    }
+
+    /**
+     * Converte os alunos carregados com o instrutor (join fetch) buscando os ids de avaliações
+     * e treinos em lote, em vez de inicializar as coleções lazy de cada aluno.
+     */
+    private List<AlunoResponseDTO> toResponseDTOs(List<Aluno> alunos) {
+        Map<Long, List<Long>> avaliacoesIds = new HashMap<>();
+        Map<Long, List<Long>> treinosIds = new HashMap<>();
+
+        List<Long> ids = alunos.stream().map(Aluno::getId).collect(Collectors.toList());
+        for (int i = 0; i < ids.size(); i += LOTE_IDS) {
+            List<Long> lote = ids.subList(i, Math.min(i + LOTE_IDS, ids.size()));
+            agruparPorAluno(alunoRepository.findAvaliacoesIdsPorAluno(lote), avaliacoesIds);
+            agruparPorAluno(alunoRepository.findTreinosIdsPorAluno(lote), treinosIds);
+        }
+
+        return alunos.stream()
+                .map(aluno -> AlunoMapper.toResponseDTO(aluno,
+                        avaliacoesIds.getOrDefault(aluno.getId(), new ArrayList<>()),
+                        treinosIds.getOrDefault(aluno.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private static void agruparPorAluno(List<Object[]> pares, Map<Long, List<Long>> destino) {
+        for (Object[] par : pares) {
+            destino.computeIfAbsent((Long) par[0], k -> new ArrayList<>()).add((Long) par[1]);
+        }
+    }
+
+    /**
+     * Escreve todos os alunos em NDJSON ou CSV diretamente na saída, lendo por cursor do banco
+     * e desanexando cada entidade após escrita para manter o uso de memória constante.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(String formato, OutputStream saida) throws IOException {
+        boolean csv = "csv".equals(formato);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        try (Stream<Aluno> alunos = alunoRepository.streamTodosComInstrutor()) {
+            Iterator<Aluno> iterator = alunos.iterator();
+            while (iterator.hasNext()) {
+                Aluno aluno = iterator.next();
+                AlunoExportacaoDTO dto = AlunoMapper.toExportacaoDTO(aluno);
+                writer.write(csv ? toLinhaCsv(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+                entityManager.detach(aluno);
+            }
+        }
+        writer.flush();
+    }
+
+    private static String toLinhaCsv(AlunoExportacaoDTO dto) {
+        return String.join(",",
+                String.valueOf(dto.getId()),
+                CsvUtil.campo(dto.getNome()),
+                CsvUtil.campo(dto.getDataNascimento() != null ? dto.getDataNascimento().toString() : null),
+                CsvUtil.campo(dto.getTelefone()),
+                CsvUtil.campo(dto.getEmail()),
+                CsvUtil.campo(dto.getEndereco()),
+                CsvUtil.campo(dto.getPlano()),
+                CsvUtil.campo(dto.getNomeInstrutor()));
     }
 
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.ALUNOS, key = "#id"),
+            @CacheEvict(value = CacheConfig.INSTRUTORES, allEntries = true),
+            @CacheEvict(value = CacheConfig.FAIXA_ETARIA, allEntries = true)
+    })
     public void deletarAluno(Long id) {
         if (!alunoRepository.existsById(id)) {
             throw new RuntimeException("Aluno não encontrado");
         }
+        // O catálogo só muda (totalAlunos dos treinos) quando o aluno tinha treinos
+        boolean possuiaTreinos = alunoRepository.possuiTreinos(id);
         alunoRepository.deleteById(id);
+        if (possuiaTreinos) {
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
     }
 
-    public List<Aluno> buscarPorNome(String nome) {
-        return alunoRepository.findByNomeContainingIgnoreCase(nome);
+    public List<AlunoResponseDTO> buscarPorNome(String nome, int pagina, Integer tamanho) {
+        String termo = nome == null ? "" : nome.trim().toLowerCase(Locale.ROOT);
+        if (termo.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int limite = tamanho == null ? tamanhoBuscaPadrao : Math.min(Math.max(tamanho, 1), limiteBusca);
+
+        // Primeiro os ids já ranqueados pelo banco, depois os alunos dessa página em uma consulta só
+        List<Long> ids = alunoRepository.buscarIdsPorNome(
+                escaparLike(termo), termo, limite, Math.max(pagina, 0) * limite);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Aluno> alunosPorId = alunoRepository.findComInstrutorByIdIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Aluno::getId, aluno -> aluno));
+        List<Aluno> ranqueados = ids.stream()
+                .map(alunosPorId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return toResponseDTOs(ranqueados);
+    }
+
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
+    @CacheEvict(value = CacheConfig.ALUNOS, key = "#alunoId")
     @Transactional
     public void atribuirTreinosAoAluno(Long alunoId, List<Long> treinoIds) {
-        Aluno aluno = alunoRepository.findById(alunoId)
-                .orElseThrow(() -> new RuntimeException("Aluno não encontrado"));
-
-        List<Treino> treinos = treinoRepository.findAllById(treinoIds);
+        if (!alunoRepository.existsById(alunoId)) {
+            throw new RuntimeException("Aluno não encontrado");
+        }
+        if (treinoIds != null && !treinoIds.isEmpty()
+                && alunoRepository.atribuirTreinos(List.of(alunoId), new HashSet<>(treinoIds)) > 0) {
+            volumeService.atualizarAlunos(List.of(alunoId));
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
+    }
 
-        aluno.getTreinos().addAll(treinos);
+    /**
+     * Atribui todos os treinos informados a todos os alunos informados com INSERT ... ON CONFLICT
+     * DO NOTHING, sem carregar as coleções de treinos dos alunos.
+     */
+    @CacheEvict(value = CacheConfig.ALUNOS, allEntries = true)
+    @Transactional
+    public AtribuicaoTreinosResponseDTO atribuirTreinos(AtribuicaoTreinosRequestDTO dto) {
+        if (dto.getAlunoIds() == null || dto.getAlunoIds().isEmpty()
+                || dto.getTreinoIds() == null || dto.getTreinoIds().isEmpty()) {
+            throw new RuntimeException("Informe ao menos um aluno e um treino");
+        }
 
-        alunoRepository.save(aluno);
+        // Em ordem de id: os lotes bloqueiam os agregados de volume dos alunos na mesma ordem que outras transações
+        List<Long> alunoIds = dto.getAlunoIds().stream().filter(Objects::nonNull).distinct().sorted().collect(Collectors.toList());
+        Set<Long> treinoIds = new HashSet<>(dto.getTreinoIds());
+        int criados = 0;
+        for (int i = 0; i < alunoIds.size(); i += LOTE_IDS) {
+            List<Long> lote = alunoIds.subList(i, Math.min(i + LOTE_IDS, alunoIds.size()));
+            criados += alunoRepository.atribuirTreinos(lote, treinoIds);
+            volumeService.atualizarAlunos(lote);
+        }
+        if (criados > 0) {
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
+        return new AtribuicaoTreinosResponseDTO(criados);
     }
 
+    @Cacheable(CacheConfig.FAIXA_ETARIA)
     public Map<String, Integer> calcularFaixaEtaria() {
-        List<Aluno> alunos = alunoRepository.findAll();
         Map<String, Integer> faixas = new LinkedHashMap<>();
-        faixas.put("Até 25 anos", 0);
-        faixas.put("26-35 anos", 0);
-        faixas.put("36-45 anos", 0);
-        faixas.put("46-60 anos", 0);
-        faixas.put("60+ anos", 0);
-
-        alunos.forEach(aluno -> {
-            int idade = Period.between(aluno.getDataNascimento(), LocalDate.now()).getYears();
-            if (idade <= 25) {
-                faixas.put("Até 25 anos", faixas.get("Até 25 anos") + 1);
-            } else if (idade <= 35) {
-                faixas.put("26-35 anos", faixas.get("26-35 anos") + 1);
-            } else if (idade <= 45) {
-                faixas.put("36-45 anos", faixas.get("36-45 anos") + 1);
-            } else if (idade <= 60) {
-                faixas.put("46-60 anos", faixas.get("46-60 anos") + 1);
-            } else {
-                faixas.put("60+ anos", faixas.get("60+ anos") + 1);
-            }
-        });
+        for (String faixa : FAIXAS_ETARIAS) {
+            faixas.put(faixa, 0);
+        }
 
+        // Alunos sem data de nascimento não entram em nenhuma faixa
+        for (Object[] linha : alunoRepository.contarPorFaixaEtaria()) {
+            faixas.put(FAIXAS_ETARIAS[((Number) linha[0]).intValue()], ((Number) linha[1]).intValue());
+        }
         return faixas;
     }
 }
@@ -1,27 +1,69 @@
 package com.academia.academia_api.service;
 
+import com.academia.academia_api.config.CacheConfig;
 import com.academia.academia_api.DTO.mapper.AvaliacaoFisicaMapper;
 import com.academia.academia_api.DTO.request.AvaliacaoFisicaRequestDTO;
 import com.academia.academia_api.DTO.response.AvaliacaoFisicaResponseDTO;
+import com.academia.academia_api.DTO.response.HistoricoAvaliacaoDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
 import com.academia.academia_api.model.Aluno;
 import com.academia.academia_api.model.AvaliacaoFisica;
 import com.academia.academia_api.repository.AlunoRepository;
 import com.academia.academia_api.repository.AvaliacaoFisicaRepository;
+import com.academia.academia_api.repository.MarcadorAlteracaoRepository;
+import com.academia.academia_api.util.ETagUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class AvaliacaoFisicaService {
 
+    // Limites usados quando o período não é informado
+    private static final LocalDate INICIO_PADRAO = LocalDate.of(1900, 1, 1);
+    private static final LocalDate FIM_PADRAO = LocalDate.of(9999, 12, 31);
+
     @Autowired
     private AvaliacaoFisicaRepository avaliacaoRepository;
 
     @Autowired
     private AlunoRepository alunoRepository;
 
+    @Autowired
+    private MarcadorAlteracaoRepository marcadorAlteracaoRepository;
+
+    @Autowired
+    private ProgressoService progressoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${academia.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${academia.paginacao.tamanho-maximo:200}")
+    private int tamanhoPaginaMaximo;
+
+    // A avaliação e o recálculo do progresso confirmam juntos; o flush torna a linha visível ao recálculo via JDBC
+    @CacheEvict(value = CacheConfig.ALUNOS, key = "#dto.alunoId")
+    @Transactional
     public AvaliacaoFisicaResponseDTO criar(AvaliacaoFisicaRequestDTO dto) {
         Optional<Aluno> aluno = alunoRepository.findById(dto.getAlunoId());
         if (aluno.isEmpty()) {
@@ -29,23 +71,76 @@ public class AvaliacaoFisicaService {
         }
 
         AvaliacaoFisica avaliacao = AvaliacaoFisicaMapper.toEntity(dto, aluno.get());
-        AvaliacaoFisica saved = avaliacaoRepository.save(avaliacao);
+        AvaliacaoFisica saved = avaliacaoRepository.saveAndFlush(avaliacao);
+        progressoService.atualizarAlunos(List.of(dto.getAlunoId()));
         return AvaliacaoFisicaMapper.toResponseDTO(saved);
     }
 
     public List<AvaliacaoFisicaResponseDTO> listar() {
-        return avaliacaoRepository.findAll().stream()
-                .map(AvaliacaoFisicaMapper::toResponseDTO)
-                .toList();
+        return avaliacaoRepository.findTodosComNomeAluno();
+    }
+
+    public PaginaResponseDTO<AvaliacaoFisicaResponseDTO> listarPagina(LocalDate inicio, LocalDate fim,
+                                                                      int pagina, Integer tamanho) {
+        Page<AvaliacaoFisicaResponseDTO> avaliacoes = avaliacaoRepository.findPaginaPorPeriodo(
+                inicio != null ? inicio : INICIO_PADRAO,
+                fim != null ? fim : FIM_PADRAO,
+                PageRequest.of(Math.max(pagina, 0), limitarTamanho(tamanho)));
+        return PaginaResponseDTO.of(avaliacoes, avaliacoes.getContent());
+    }
+
+    /**
+     * Escreve todas as avaliações em NDJSON diretamente na saída, lendo por cursor do banco.
+     * As linhas já chegam como DTO, então nada fica no contexto de persistência.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        try (Stream<AvaliacaoFisicaResponseDTO> avaliacoes = avaliacaoRepository.streamTodosComNomeAluno()) {
+            Iterator<AvaliacaoFisicaResponseDTO> iterator = avaliacoes.iterator();
+            while (iterator.hasNext()) {
+                writer.write(objectMapper.writeValueAsString(iterator.next()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    public PaginaResponseDTO<HistoricoAvaliacaoDTO> historicoDoAluno(Long alunoId, LocalDate inicio, LocalDate fim,
+                                                                     int pagina, Integer tamanho) {
+        Page<HistoricoAvaliacaoDTO> historico = avaliacaoRepository.findHistorico(alunoId,
+                inicio != null ? inicio : INICIO_PADRAO,
+                fim != null ? fim : FIM_PADRAO,
+                PageRequest.of(Math.max(pagina, 0), limitarTamanho(tamanho)));
+        return PaginaResponseDTO.of(historico, historico.getContent());
+    }
+
+    private int limitarTamanho(Integer tamanho) {
+        return tamanho == null ? tamanhoPaginaPadrao : Math.min(Math.max(tamanho, 1), tamanhoPaginaMaximo);
+    }
+
+    public String etagLista() {
+        return ETagUtil.colecao("avaliacoes", marcadorAlteracaoRepository.versao(MarcadorAlteracaoRepository.CADASTRO));
+    }
+
+    public Optional<String> etag(Long id) {
+        return avaliacaoRepository.resumirVersoesPorId(id).stream().findFirst()
+                .map(linha -> ETagUtil.recurso("avaliacao", id, ((Number) linha[0]).longValue(), linha[1]));
     }
 
     public Optional<AvaliacaoFisicaResponseDTO> buscarPorId(Long id) {
-        return avaliacaoRepository.findById(id)
-                .map(AvaliacaoFisicaMapper::toResponseDTO);
+        return avaliacaoRepository.findComNomeAlunoById(id);
     }
 
+    @CacheEvict(value = CacheConfig.ALUNOS, allEntries = true)
+    @Transactional
     public void deletar(Long id) {
+        Long alunoId = avaliacaoRepository.findAlunoIdById(id);
         avaliacaoRepository.deleteById(id);
+        avaliacaoRepository.flush();
+        if (alunoId != null) {
+            progressoService.atualizarAlunos(List.of(alunoId));
+        }
     }
 }
 
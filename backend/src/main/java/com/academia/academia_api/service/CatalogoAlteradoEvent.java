@@ -0,0 +1,8 @@
+package com.academia.academia_api.service;
+
+/**
+ * Publicado pelas escritas que de fato alteram treinos, exercícios ou vínculos aluno-treino; o
+ * {@link CatalogoTreinos} agenda a recarga do snapshot depois do commit.
+ */
+public class CatalogoAlteradoEvent {
+}
@@ -0,0 +1,221 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.mapper.ExercicioMapper;
+import com.academia.academia_api.DTO.mapper.TreinoMapper;
+import com.academia.academia_api.DTO.response.ExercicioResponseDTO;
+import com.academia.academia_api.DTO.response.TreinoCompletoResponseDTO;
+import com.academia.academia_api.DTO.response.TreinoResponseDTO;
+import com.academia.academia_api.repository.ExercicioRepository;
+import com.academia.academia_api.repository.TreinoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Snapshot em memória do catálogo de treinos e exercícios. É carregado na inicialização e
+ * substituído por inteiro (nunca alterado) depois das escritas confirmadas, de modo que as leituras
+ * não consultam o banco; as listagens já ficam serializadas em JSON junto com o ETag.
+ * A recarga roda em uma thread própria, fora da requisição que escreveu: escritas que chegam
+ * durante uma recarga são atendidas juntas pela recarga seguinte, então o snapshot pode ficar
+ * brevemente atrás do banco.
+ */
+@Component
+public class CatalogoTreinos {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoTreinos.class);
+
+    @Autowired
+    private TreinoRepository treinoRepository;
+
+    @Autowired
+    private ExercicioRepository exercicioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicReference<Snapshot> atual = new AtomicReference<>();
+
+    // Já existe uma recarga agendada que ainda não começou a ler o banco
+    private final AtomicBoolean recargaPendente = new AtomicBoolean();
+
+    private final ExecutorService recargas = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "catalogo-treinos");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        recarregar();
+    }
+
+    // fallbackExecution: escritas sem transação (ex.: criarAluno) também disparam a recarga
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCatalogo(CatalogoAlteradoEvent evento) {
+        if (recargaPendente.compareAndSet(false, true)) {
+            recargas.execute(this::recarregarPendente);
+        }
+    }
+
+    private void recarregarPendente() {
+        // Desmarcada antes da leitura: um commit posterior a ela agenda outra recarga
+        recargaPendente.set(false);
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            log.error("Falha ao recarregar o catálogo de treinos", e);
+        }
+    }
+
+    @PreDestroy
+    public void parar() {
+        recargas.shutdownNow();
+    }
+
+    // Serializado para que uma recarga mais antiga não sobrescreva uma mais nova
+    public synchronized void recarregar() {
+        // Transação própria: após o commit, o contexto de persistência da escrita ainda está associado à thread
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transacao.setReadOnly(true);
+        Snapshot snapshot = transacao.execute(status -> {
+            List<TreinoResponseDTO> treinos = treinoRepository.findResumos().stream()
+                    .map(TreinoMapper::toResponseDTO)
+                    .toList();
+            List<ExercicioResponseDTO> exercicios = exercicioRepository.findAllOrdenados().stream()
+                    .map(ExercicioMapper::toResponseDTO)
+                    .toList();
+            return new Snapshot(treinos, exercicios, objectMapper);
+        });
+        atual.set(snapshot);
+    }
+
+    public byte[] treinosJson() {
+        return snapshot().treinosJson;
+    }
+
+    public String etagTreinos() {
+        return snapshot().etagTreinos;
+    }
+
+    public List<TreinoResponseDTO> treinos() {
+        return snapshot().treinos;
+    }
+
+    public Optional<TreinoResponseDTO> treino(Long id) {
+        return Optional.ofNullable(snapshot().treinosPorId.get(id));
+    }
+
+    public Optional<TreinoCompletoResponseDTO> treinoCompleto(Long id) {
+        Snapshot snapshot = snapshot();
+        return treino(id).map(treino -> snapshot.completo(treino));
+    }
+
+    public byte[] exerciciosJson() {
+        return snapshot().exerciciosJson;
+    }
+
+    public String etagExercicios() {
+        return snapshot().etagExercicios;
+    }
+
+    public List<ExercicioResponseDTO> exercicios() {
+        return snapshot().exercicios;
+    }
+
+    public Optional<ExercicioResponseDTO> exercicio(Long id) {
+        return Optional.ofNullable(snapshot().exerciciosPorId.get(id));
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = atual.get();
+        if (snapshot == null) {
+            // Requisição antes do ApplicationReadyEvent
+            recarregar();
+            snapshot = atual.get();
+        }
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+        private final List<TreinoResponseDTO> treinos;
+        private final Map<Long, TreinoResponseDTO> treinosPorId;
+        private final List<ExercicioResponseDTO> exercicios;
+        private final Map<Long, ExercicioResponseDTO> exerciciosPorId;
+        private final Map<Long, List<ExercicioResponseDTO>> exerciciosPorTreino;
+        private final byte[] treinosJson;
+        private final byte[] exerciciosJson;
+        private final String etagTreinos;
+        private final String etagExercicios;
+
+        Snapshot(List<TreinoResponseDTO> treinos, List<ExercicioResponseDTO> exercicios, ObjectMapper objectMapper) {
+            this.treinos = treinos;
+            this.exercicios = exercicios;
+
+            Map<Long, TreinoResponseDTO> porId = new LinkedHashMap<>();
+            treinos.forEach(treino -> porId.put(treino.getId(), treino));
+            this.treinosPorId = Map.copyOf(porId);
+
+            Map<Long, ExercicioResponseDTO> exercicioPorId = new LinkedHashMap<>();
+            Map<Long, List<ExercicioResponseDTO>> porTreino = new LinkedHashMap<>();
+            for (ExercicioResponseDTO exercicio : exercicios) {
+                exercicioPorId.put(exercicio.getId(), exercicio);
+                if (exercicio.getTreinoId() != null) {
+                    porTreino.computeIfAbsent(exercicio.getTreinoId(), k -> new ArrayList<>()).add(exercicio);
+                }
+            }
+            this.exerciciosPorId = Map.copyOf(exercicioPorId);
+            porTreino.replaceAll((treinoId, lista) -> List.copyOf(lista));
+            this.exerciciosPorTreino = Map.copyOf(porTreino);
+
+            this.treinosJson = serializar(objectMapper, treinos);
+            this.exerciciosJson = serializar(objectMapper, exercicios);
+            // ETag pelo conteúdo: também muda quando só o total de alunos de um treino muda
+            this.etagTreinos = "\"treinos-" + DigestUtils.md5DigestAsHex(treinosJson) + "\"";
+            this.etagExercicios = "\"exercicios-" + DigestUtils.md5DigestAsHex(exerciciosJson) + "\"";
+        }
+
+        TreinoCompletoResponseDTO completo(TreinoResponseDTO treino) {
+            TreinoCompletoResponseDTO dto = new TreinoCompletoResponseDTO();
+            dto.setId(treino.getId());
+            dto.setNome(treino.getNome());
+            dto.setObjetivo(treino.getObjetivo());
+            dto.setNivel(treino.getNivel());
+            dto.setVersao(treino.getVersao());
+            dto.setExercicios(exerciciosPorTreino.getOrDefault(treino.getId(), List.of()));
+            return dto;
+        }
+
+        private static byte[] serializar(ObjectMapper objectMapper, Object valor) {
+            try {
+                return objectMapper.writeValueAsBytes(valor);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Falha ao serializar o catálogo de treinos", e);
+            }
+        }
+    }
+}
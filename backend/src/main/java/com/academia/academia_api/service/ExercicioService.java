@@ -1,16 +1,34 @@
 package com.academia.academia_api.service;
 
 import com.academia.academia_api.DTO.mapper.ExercicioMapper;
+import com.academia.academia_api.DTO.mapper.TreinoMapper;
 import com.academia.academia_api.DTO.request.ExercicioRequestDTO;
 import com.academia.academia_api.DTO.response.ExercicioResponseDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
+import com.academia.academia_api.DTO.response.TreinoCompletoResponseDTO;
 import com.academia.academia_api.model.Exercicio;
+import com.academia.academia_api.model.Treino;
 import com.academia.academia_api.repository.ExercicioRepository;
+import com.academia.academia_api.repository.ExercicioSpecifications;
+import com.academia.academia_api.repository.TreinoRepository;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ExercicioService {
@@ -18,39 +36,210 @@ public class ExercicioService {
     @Autowired
     private ExercicioRepository exercicioRepository;
 
+    @Autowired
+    private TreinoRepository treinoRepository;
+
+    @Autowired
+    private VolumeService volumeService;
+
+    @Autowired
+    private CatalogoTreinos catalogo;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Value("${academia.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${academia.paginacao.tamanho-maximo:200}")
+    private int tamanhoPaginaMaximo;
+
+    // Campos aceitos em ordenarPor; o id é sempre usado como desempate
+    private static final Set<String> ORDENACOES = Set.of("id", "nome", "grupoMuscular", "carga", "series", "ordem");
+
     @Transactional
     public ExercicioResponseDTO criarExercicio(ExercicioRequestDTO requestDTO) {
-        Exercicio exercicio = ExercicioMapper.toEntity(requestDTO);
-        Exercicio savedExercicio = exercicioRepository.save(exercicio);
+        Exercicio exercicio = ExercicioMapper.toEntity(requestDTO, referenciaTreino(requestDTO.getTreinoId()));
+        Exercicio savedExercicio = exercicioRepository.saveAndFlush(exercicio);
+        volumeService.atualizarTreinos(Arrays.asList(requestDTO.getTreinoId()));
+        eventos.publishEvent(new CatalogoAlteradoEvent());
         return ExercicioMapper.toResponseDTO(savedExercicio);
     }
 
     public List<ExercicioResponseDTO> listarExercicios() {
-        List<Exercicio> exercicios = exercicioRepository.findAll();
-        return exercicios.stream()
+        return catalogo.exercicios();
+    }
+
+    public byte[] listarExerciciosJson() {
+        return catalogo.exerciciosJson();
+    }
+
+    public PaginaResponseDTO<ExercicioResponseDTO> listarPagina(String grupoMuscular, String nome, Long treinoId,
+                                                                int pagina, Integer tamanho,
+                                                                String ordenarPor, String direcao) {
+        if (!ORDENACOES.contains(ordenarPor)) {
+            throw new RuntimeException("Ordenação inválida: " + ordenarPor);
+        }
+        Sort.Direction sentido = "desc".equalsIgnoreCase(direcao) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(sentido, ordenarPor);
+        if (!"id".equals(ordenarPor)) {
+            sort = sort.and(Sort.by(Sort.Direction.ASC, "id"));
+        }
+        int limite = tamanho == null ? tamanhoPaginaPadrao : Math.min(Math.max(tamanho, 1), tamanhoPaginaMaximo);
+
+        Page<Exercicio> exercicios = exercicioRepository.findAll(
+                ExercicioSpecifications.filtrar(grupoMuscular, nome, treinoId),
+                PageRequest.of(Math.max(pagina, 0), limite, sort));
+        return PaginaResponseDTO.of(exercicios, exercicios.getContent().stream()
                 .map(ExercicioMapper::toResponseDTO)
-                .toList();
+                .toList());
+    }
+
+    public String etagLista() {
+        return catalogo.etagExercicios();
     }
 
     public Optional<ExercicioResponseDTO> buscarExercicioPorId(Long id) {
-        Optional<Exercicio> exercicio = exercicioRepository.findById(id);
-        return exercicio.map(ExercicioMapper::toResponseDTO);
+        return catalogo.exercicio(id);
     }
 
     @Transactional
-    public ExercicioResponseDTO atualizarExercicio(Long id, ExercicioRequestDTO requestDTO) {
-        if (exercicioRepository.existsById(id)) {
-            Exercicio exercicio = ExercicioMapper.toEntity(requestDTO);
-            exercicio.setId(id);
-            Exercicio updatedExercicio = exercicioRepository.save(exercicio);
-            return ExercicioMapper.toResponseDTO(updatedExercicio);
+    public ExercicioResponseDTO atualizarExercicio(Long id, ExercicioRequestDTO requestDTO, Long versaoEsperada) {
+        Optional<Exercicio> existente = exercicioRepository.findById(id);
+        if (existente.isEmpty()) {
+            return null;
+        }
+
+        Exercicio exercicio = existente.get();
+        ETagUtil.verificarVersao(versaoEsperada, exercicio.getVersao());
+        Long treinoAnterior = exercicio.getTreino() != null ? exercicio.getTreino().getId() : null;
+        Long versaoAnterior = exercicio.getVersao();
+        exercicio.setNome(requestDTO.getNome());
+        exercicio.setGrupoMuscular(requestDTO.getGrupoMuscular());
+        exercicio.setSeries(requestDTO.getSeries());
+        exercicio.setRepeticoes(requestDTO.getRepeticoes());
+        exercicio.setCarga(requestDTO.getCarga());
+        exercicio.setDescansoSegundos(requestDTO.getDescansoSegundos());
+        exercicio.setTreino(referenciaTreino(requestDTO.getTreinoId()));
+
+        // flush para que a versão incrementada já saia na resposta
+        Exercicio updatedExercicio = exercicioRepository.saveAndFlush(exercicio);
+        // Versão inalterada: o dirty checking não encontrou mudança e nada foi gravado
+        if (!updatedExercicio.getVersao().equals(versaoAnterior)) {
+            volumeService.atualizarTreinos(Arrays.asList(treinoAnterior, requestDTO.getTreinoId()));
+            eventos.publishEvent(new CatalogoAlteradoEvent());
         }
-        return null;
+        return ExercicioMapper.toResponseDTO(updatedExercicio);
+    }
+
+    /**
+     * Aplica só os campos enviados em um único UPDATE ... RETURNING. Sem linha atualizada,
+     * a existência só é consultada quando há If-Match, para distinguir 412 de 404. Sem nenhum
+     * campo, devolve a representação atual sem gravar nem incrementar a versão.
+     */
+    @Transactional
+    public Optional<ExercicioResponseDTO> atualizarParcial(Long id, ExercicioRequestDTO campos, Long versaoEsperada) {
+        if (semCampos(campos)) {
+            Optional<Exercicio> atual = exercicioRepository.findById(id);
+            atual.ifPresent(exercicio -> ETagUtil.verificarVersao(versaoEsperada, exercicio.getVersao()));
+            return atual.map(ExercicioMapper::toResponseDTO);
+        }
+        // Validado antes do UPDATE, que de outra forma falharia na chave estrangeira
+        if (campos.getTreinoId() != null && !treinoRepository.existsById(campos.getTreinoId())) {
+            throw new RuntimeException("Treino não encontrado");
+        }
+        // O treino anterior só precisa ser lido quando o exercício muda de treino
+        Long treinoAnterior = campos.getTreinoId() != null ? exercicioRepository.findTreinoIdById(id) : null;
+        Optional<ExercicioResponseDTO> atualizado = exercicioRepository.atualizarParcial(id, campos, versaoEsperada);
+        if (atualizado.isEmpty() && versaoEsperada != null && exercicioRepository.existsById(id)) {
+            throw ETagUtil.precondicaoFalhou();
+        }
+        atualizado.ifPresent(exercicio -> {
+            volumeService.atualizarTreinos(Arrays.asList(treinoAnterior, exercicio.getTreinoId()));
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        });
+        return atualizado;
+    }
+
+    /**
+     * Substitui o plano de exercícios do treino em uma única transação: exercícios com id são
+     * atualizados, os sem id inseridos e os ausentes da lista removidos com um único DELETE.
+     * A ordem da lista define o campo ordem de cada exercício.
+     */
+    @Transactional
+    public Optional<TreinoCompletoResponseDTO> substituirPlano(Long treinoId, List<ExercicioRequestDTO> plano) {
+        Optional<Treino> encontrado = treinoRepository.findCompletoById(treinoId);
+        if (encontrado.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Treino treino = encontrado.get();
+        Map<Long, Exercicio> existentes = new HashMap<>();
+        for (Exercicio exercicio : treino.getExercicios()) {
+            existentes.put(exercicio.getId(), exercicio);
+        }
+
+        List<Exercicio> resultado = new ArrayList<>();
+        List<Exercicio> novos = new ArrayList<>();
+        Set<Long> mantidos = new HashSet<>();
+        for (int i = 0; i < plano.size(); i++) {
+            ExercicioRequestDTO dto = plano.get(i);
+            Exercicio exercicio;
+            if (dto.getId() == null) {
+                exercicio = ExercicioMapper.toEntity(dto, treino);
+                novos.add(exercicio);
+            } else {
+                exercicio = existentes.get(dto.getId());
+                if (exercicio == null || !mantidos.add(dto.getId())) {
+                    throw new RuntimeException("Exercício inválido para o treino: " + dto.getId());
+                }
+                exercicio.setNome(dto.getNome());
+                exercicio.setGrupoMuscular(dto.getGrupoMuscular());
+                exercicio.setSeries(dto.getSeries());
+                exercicio.setRepeticoes(dto.getRepeticoes());
+                exercicio.setCarga(dto.getCarga());
+                exercicio.setDescansoSegundos(dto.getDescansoSegundos());
+            }
+            exercicio.setOrdem(i + 1);
+            resultado.add(exercicio);
+        }
+
+        List<Long> removidos = existentes.keySet().stream()
+                .filter(id -> !mantidos.contains(id))
+                .toList();
+        if (!removidos.isEmpty()) {
+            exercicioRepository.deleteAllByIdInBatch(removidos);
+        }
+        exercicioRepository.saveAll(novos);
+        exercicioRepository.flush();
+        volumeService.atualizarTreinos(List.of(treinoId));
+        eventos.publishEvent(new CatalogoAlteradoEvent());
+
+        // Coleção inversa: só atualiza a visão em memória para montar a resposta
+        treino.getExercicios().clear();
+        treino.getExercicios().addAll(resultado);
+        return Optional.of(TreinoMapper.toCompletoDTO(treino));
+    }
+
+    private static boolean semCampos(ExercicioRequestDTO campos) {
+        return campos.getNome() == null && campos.getGrupoMuscular() == null && campos.getSeries() == null
+                && campos.getRepeticoes() == null && campos.getCarga() == null
+                && campos.getDescansoSegundos() == null && campos.getTreinoId() == null;
+    }
+
+    private Treino referenciaTreino(Long treinoId) {
+        return treinoId != null ? treinoRepository.getReferenceById(treinoId) : null;
     }
 
     @Transactional
     public void deletarExercicio(Long id) {
+        Long treinoId = exercicioRepository.findTreinoIdById(id);
         exercicioRepository.deleteById(id);
+        exercicioRepository.flush();
+        if (treinoId != null) {
+            volumeService.atualizarTreinos(List.of(treinoId));
+        }
+        eventos.publishEvent(new CatalogoAlteradoEvent());
     }
 }
 
@@ -0,0 +1,188 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.request.RegistroSerieRequestDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fila limitada de séries a gravar e a thread que a esvazia em lotes JDBC. A requisição só espera
+ * pela inclusão na fila; com a fila cheia, {@link #enfileirar} recusa o registro (contrapressão).
+ * Falhas transitórias do banco (conexão indisponível, timeout, deadlock) são repetidas com espera
+ * crescente sem perder o lote; só registros que violam restrições (ex.: aluno inexistente) são
+ * descartados. No desligamento a fila é esvaziada antes de o pool de conexões ser fechado.
+ */
+@Component
+public class GravadorRegistrosSeries {
+
+    private static final Logger log = LoggerFactory.getLogger(GravadorRegistrosSeries.class);
+
+    private static final String INSERT = "INSERT INTO registros_series " +
+            "(aluno_id, exercicio_id, carga, repeticoes, realizado_em) VALUES (?, ?, ?, ?, ?)";
+
+    private static final long ESPERA_INICIAL_RETENTATIVA_MS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${academia.registros-series.capacidade-fila:10000}")
+    private int capacidadeFila;
+
+    @Value("${academia.registros-series.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    // Quanto a requisição espera por espaço na fila antes de ser recusada
+    @Value("${academia.registros-series.espera-fila:50ms}")
+    private Duration esperaFila;
+
+    @Value("${academia.registros-series.espera-desligamento:30s}")
+    private Duration esperaDesligamento;
+
+    @Value("${academia.registros-series.espera-maxima-retentativa:30s}")
+    private Duration esperaMaximaRetentativa;
+
+    private BlockingQueue<RegistroSerieRequestDTO> fila;
+    private Thread gravador;
+    private volatile boolean ativo;
+    // enfileirar verifica ativo e insere na fila sob a leitura; parar fecha a entrada sob a escrita, então
+    // nenhum registro aceito entra na fila depois que ela é esvaziada pela última vez
+    private final ReadWriteLock entrada = new ReentrantReadWriteLock();
+    // Depois do desligamento, falhas transitórias só são repetidas até este instante (System.nanoTime)
+    private volatile long prazoDesligamento;
+
+    @PostConstruct
+    public void iniciar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        ativo = true;
+        gravador = new Thread(this::executar, "gravador-registros-series");
+        gravador.start();
+    }
+
+    public boolean enfileirar(RegistroSerieRequestDTO registro) {
+        entrada.readLock().lock();
+        try {
+            if (!ativo) {
+                return false;
+            }
+            return fila.offer(registro, esperaFila.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            entrada.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        prazoDesligamento = System.nanoTime() + esperaDesligamento.toNanos();
+        // Espera os enfileiramentos em andamento (no máximo esperaFila cada) antes de fechar a entrada
+        entrada.writeLock().lock();
+        try {
+            ativo = false;
+        } finally {
+            entrada.writeLock().unlock();
+        }
+        gravador.join(esperaDesligamento.toMillis());
+        // Se a thread não terminou a tempo, o que restou é gravado aqui mesmo
+        List<RegistroSerieRequestDTO> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        if (!restantes.isEmpty()) {
+            try {
+                gravar(restantes);
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar {} registros de séries no desligamento", restantes.size(), e);
+            }
+        }
+    }
+
+    private void executar() {
+        List<RegistroSerieRequestDTO> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !fila.isEmpty()) {
+            try {
+                // Bloqueia até chegar o primeiro registro e leva junto o que já estiver na fila
+                RegistroSerieRequestDTO primeiro = fila.poll(200, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                fila.drainTo(lote, tamanhoLote - 1);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!lote.isEmpty()) {
+                    log.error("Gravação interrompida, {} registros de séries não foram gravados", lote.size());
+                }
+                return;
+            } catch (RuntimeException e) {
+                // Erros transitórios já foram repetidos em gravar; aqui chegam os que não se resolvem repetindo
+                log.error("Falha permanente ao gravar lote de {} registros de séries", lote.size(), e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravar(List<RegistroSerieRequestDTO> lote) throws InterruptedException {
+        List<Object[]> linhas = lote.stream().map(GravadorRegistrosSeries::parametros).toList();
+        try {
+            comRetentativa(() -> jdbcTemplate.batchUpdate(INSERT, linhas));
+        } catch (DataIntegrityViolationException e) {
+            // Um registro inválido (ex.: aluno inexistente) derruba o lote inteiro: grava um a um
+            log.warn("Lote de {} registros de séries falhou, gravando individualmente: {}", linhas.size(), e.getMessage());
+            for (Object[] linha : linhas) {
+                try {
+                    comRetentativa(() -> jdbcTemplate.update(INSERT, linha));
+                } catch (DataIntegrityViolationException erro) {
+                    log.warn("Registro de série descartado (aluno {}, exercício {}): {}", linha[0], linha[1], erro.getMessage());
+                }
+            }
+        }
+    }
+
+    // Repete a escrita enquanto a falha for transitória, dobrando a espera até esperaMaximaRetentativa
+    private void comRetentativa(Runnable escrita) throws InterruptedException {
+        long espera = ESPERA_INICIAL_RETENTATIVA_MS;
+        while (true) {
+            try {
+                escrita.run();
+                return;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                if (!ativo && System.nanoTime() - prazoDesligamento > 0) {
+                    throw e;
+                }
+                log.warn("Falha transitória ao gravar registros de séries, nova tentativa em {} ms: {}",
+                        espera, e.getMessage());
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, esperaMaximaRetentativa.toMillis());
+            }
+        }
+    }
+
+    private static Object[] parametros(RegistroSerieRequestDTO registro) {
+        return new Object[]{
+                registro.getAlunoId(),
+                registro.getExercicioId(),
+                registro.getCarga(),
+                registro.getRepeticoes(),
+                registro.getRealizadoEm()
+        };
+    }
+}
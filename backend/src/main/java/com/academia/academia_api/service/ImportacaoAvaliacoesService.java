@@ -0,0 +1,343 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.response.ErroImportacaoDTO;
+import com.academia.academia_api.DTO.response.ImportacaoResponseDTO;
+import com.academia.academia_api.config.CacheConfig;
+import com.academia.academia_api.model.Aluno;
+import com.academia.academia_api.model.AvaliacaoFisica;
+import com.academia.academia_api.repository.AlunoRepository;
+import com.academia.academia_api.repository.AvaliacaoFisicaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importa avaliações físicas de arquivos CSV exportados pelas balanças de bioimpedância.
+ * O arquivo é lido linha a linha e processado em lotes: os alunos de cada lote são resolvidos
+ * com uma consulta por tipo de identificador e as avaliações válidas inseridas com o batch
+ * JDBC do Hibernate, em uma transação por lote. Linhas inválidas entram no relatório sem
+ * interromper a importação.
+ */
+@Service
+public class ImportacaoAvaliacoesService {
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Limites das colunas DECIMAL(5,2) e DECIMAL(4,2) de avaliacoes_fisicas
+    private static final BigDecimal PESO_MAXIMO = new BigDecimal("999.99");
+    private static final BigDecimal ALTURA_MAXIMA = new BigDecimal("3.00");
+    private static final BigDecimal IMC_MAXIMO = new BigDecimal("999.99");
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private AvaliacaoFisicaRepository avaliacaoRepository;
+
+    @Autowired
+    private ProgressoService progressoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${academia.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @CacheEvict(value = CacheConfig.ALUNOS, allEntries = true)
+    public ImportacaoResponseDTO importarCsv(InputStream entrada) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        String cabecalho = leitor.readLine();
+        if (cabecalho == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo vazio");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+
+        // Exportações com ';' usam vírgula como separador decimal
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        Map<String, Integer> colunas = mapearColunas(dividir(cabecalho, separador));
+        if (!colunas.containsKey("alunoid") && !colunas.containsKey("email")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O arquivo deve ter a coluna alunoId ou email");
+        }
+        if (!colunas.containsKey("dataavaliacao") || !colunas.containsKey("peso")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O arquivo deve ter as colunas dataAvaliacao e peso");
+        }
+
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        List<LinhaAvaliacao> lote = new ArrayList<>(tamanhoLote);
+        int recebidos = 0;
+        int importados = 0;
+        int numeroLinha = 1;
+
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            recebidos++;
+            try {
+                lote.add(interpretar(numeroLinha, dividir(linha, separador), colunas, separador == ';'));
+            } catch (RuntimeException e) {
+                erros.add(new ErroImportacaoDTO(numeroLinha, e.getMessage()));
+            }
+            if (lote.size() >= tamanhoLote) {
+                importados += gravarLote(lote, erros);
+            }
+        }
+        importados += gravarLote(lote, erros);
+
+        erros.sort((a, b) -> Integer.compare(a.getLinha(), b.getLinha()));
+        return new ImportacaoResponseDTO(recebidos, importados, erros);
+    }
+
+    private int gravarLote(List<LinhaAvaliacao> lote, List<ErroImportacaoDTO> erros) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        Map<String, Long> idsPorEmail = new HashMap<>();
+        Set<Long> idsExistentes = new HashSet<>();
+        resolverAlunos(lote, idsPorEmail, idsExistentes);
+
+        List<LinhaAvaliacao> validas = new ArrayList<>();
+        for (LinhaAvaliacao avaliacao : lote) {
+            if (avaliacao.alunoId == null) {
+                avaliacao.alunoId = idsPorEmail.get(avaliacao.email);
+            } else if (!idsExistentes.contains(avaliacao.alunoId)) {
+                erros.add(new ErroImportacaoDTO(avaliacao.linha, "Aluno não encontrado: " + avaliacao.alunoId));
+                continue;
+            }
+            if (avaliacao.alunoId == null) {
+                erros.add(new ErroImportacaoDTO(avaliacao.linha, "Aluno não encontrado: " + avaliacao.email));
+                continue;
+            }
+            validas.add(avaliacao);
+        }
+
+        int gravadas = 0;
+        if (!validas.isEmpty()) {
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            try {
+                transacao.executeWithoutResult(status -> inserir(validas));
+                gravadas = validas.size();
+            } catch (RuntimeException e) {
+                // O lote foi desfeito inteiro: refaz linha a linha, cada uma na sua transação, para que só as
+                // linhas com problema entrem no relatório
+                for (LinhaAvaliacao avaliacao : validas) {
+                    try {
+                        transacao.executeWithoutResult(status -> inserir(List.of(avaliacao)));
+                        gravadas++;
+                    } catch (RuntimeException erro) {
+                        erros.add(new ErroImportacaoDTO(avaliacao.linha, "Falha ao gravar: " + mensagem(erro)));
+                    }
+                }
+            }
+        }
+        lote.clear();
+        return gravadas;
+    }
+
+    // A causa mais específica (ex.: a mensagem do PostgreSQL) em vez do resumo do Spring
+    private static String mensagem(RuntimeException erro) {
+        Throwable causa = NestedExceptionUtils.getMostSpecificCause(erro);
+        return causa.getMessage() != null ? causa.getMessage() : erro.getClass().getSimpleName();
+    }
+
+    private void resolverAlunos(List<LinhaAvaliacao> lote, Map<String, Long> idsPorEmail, Set<Long> idsExistentes) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (LinhaAvaliacao avaliacao : lote) {
+            if (avaliacao.alunoId != null) {
+                ids.add(avaliacao.alunoId);
+            } else {
+                emails.add(avaliacao.email);
+            }
+        }
+        if (!ids.isEmpty()) {
+            idsExistentes.addAll(alunoRepository.findIdsExistentes(ids));
+        }
+        if (!emails.isEmpty()) {
+            for (Object[] par : alunoRepository.findIdsPorEmail(emails)) {
+                idsPorEmail.put((String) par[0], (Long) par[1]);
+            }
+        }
+    }
+
+    private void inserir(List<LinhaAvaliacao> validas) {
+        Set<Long> alunoIds = new HashSet<>();
+        List<AvaliacaoFisica> entidades = new ArrayList<>(validas.size());
+        for (LinhaAvaliacao linha : validas) {
+            AvaliacaoFisica avaliacao = new AvaliacaoFisica();
+            avaliacao.setDataAvaliacao(linha.dataAvaliacao);
+            avaliacao.setPeso(linha.peso);
+            avaliacao.setAltura(linha.altura);
+            avaliacao.setImc(linha.imc);
+            avaliacao.setObservacoes(linha.observacoes);
+            // Referência sem SELECT: a existência do aluno já foi verificada no lote
+            avaliacao.setAluno(entityManager.getReference(Aluno.class, linha.alunoId));
+            entidades.add(avaliacao);
+            alunoIds.add(linha.alunoId);
+        }
+        avaliacaoRepository.saveAll(entidades);
+        entityManager.flush();
+        entityManager.clear();
+        progressoService.atualizarAlunos(alunoIds);
+    }
+
+    private static LinhaAvaliacao interpretar(int numeroLinha, List<String> campos, Map<String, Integer> colunas,
+                                              boolean decimalComVirgula) {
+        LinhaAvaliacao avaliacao = new LinhaAvaliacao();
+        avaliacao.linha = numeroLinha;
+
+        String alunoId = campo(campos, colunas, "alunoid");
+        String email = campo(campos, colunas, "email");
+        if (alunoId != null) {
+            try {
+                avaliacao.alunoId = Long.parseLong(alunoId);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("alunoId inválido: " + alunoId);
+            }
+        } else if (email != null) {
+            avaliacao.email = email;
+        } else {
+            throw new RuntimeException("Informe alunoId ou email");
+        }
+
+        avaliacao.dataAvaliacao = data(campo(campos, colunas, "dataavaliacao"));
+        avaliacao.peso = decimal(campo(campos, colunas, "peso"), "peso", decimalComVirgula);
+        avaliacao.altura = decimal(campo(campos, colunas, "altura"), "altura", decimalComVirgula);
+        avaliacao.imc = decimal(campo(campos, colunas, "imc"), "imc", decimalComVirgula);
+        avaliacao.observacoes = campo(campos, colunas, "observacoes");
+
+        if (avaliacao.peso == null || avaliacao.peso.signum() <= 0 || avaliacao.peso.compareTo(PESO_MAXIMO) > 0) {
+            throw new RuntimeException("Peso inválido");
+        }
+        if (avaliacao.altura != null) {
+            // Algumas balanças exportam a altura em centímetros
+            if (avaliacao.altura.compareTo(ALTURA_MAXIMA) > 0) {
+                avaliacao.altura = avaliacao.altura.movePointLeft(2);
+            }
+            if (avaliacao.altura.signum() <= 0 || avaliacao.altura.compareTo(ALTURA_MAXIMA) > 0) {
+                throw new RuntimeException("Altura inválida");
+            }
+            avaliacao.altura = avaliacao.altura.setScale(2, RoundingMode.HALF_UP);
+        }
+        if (avaliacao.imc == null && avaliacao.altura != null) {
+            avaliacao.imc = avaliacao.peso.divide(avaliacao.altura.multiply(avaliacao.altura), 2, RoundingMode.HALF_UP);
+        }
+        if (avaliacao.imc != null && (avaliacao.imc.signum() <= 0 || avaliacao.imc.compareTo(IMC_MAXIMO) > 0)) {
+            throw new RuntimeException("IMC inválido");
+        }
+        return avaliacao;
+    }
+
+    // Nomes de coluna sem diferenciar maiúsculas nem '_' (alunoId, aluno_id, ALUNO_ID...)
+    private static Map<String, Integer> mapearColunas(List<String> cabecalho) {
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            String nome = cabecalho.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            colunas.put(nome.equals("data") ? "dataavaliacao" : nome, i);
+        }
+        return colunas;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static LocalDate data(String valor) {
+        if (valor == null) {
+            throw new RuntimeException("dataAvaliacao é obrigatória");
+        }
+        try {
+            return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("dataAvaliacao inválida: " + valor);
+        }
+    }
+
+    private static BigDecimal decimal(String valor, String coluna, boolean decimalComVirgula) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(decimalComVirgula ? valor.replace(',', '.') : valor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException(coluna + " inválido: " + valor);
+        }
+    }
+
+    // Divide uma linha CSV respeitando campos entre aspas ("" representa uma aspa no valor)
+    private static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static class LinhaAvaliacao {
+        private int linha;
+        private Long alunoId;
+        private String email;
+        private LocalDate dataAvaliacao;
+        private BigDecimal peso;
+        private BigDecimal altura;
+        private BigDecimal imc;
+        private String observacoes;
+    }
+}
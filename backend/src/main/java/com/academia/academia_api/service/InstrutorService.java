@@ -1,14 +1,27 @@
 package com.academia.academia_api.service;
 
+import com.academia.academia_api.config.CacheConfig;
 import com.academia.academia_api.DTO.mapper.InstrutorMapper;
 import com.academia.academia_api.DTO.request.InstrutorRequestDTO;
+import com.academia.academia_api.DTO.response.AlunoSemAvaliacaoDTO;
+import com.academia.academia_api.DTO.response.DashboardInstrutorResponseDTO;
 import com.academia.academia_api.DTO.response.InstrutorResponseDTO;
+import com.academia.academia_api.DTO.response.TreinoEmUsoDTO;
 import com.academia.academia_api.model.Instrutor;
 import com.academia.academia_api.repository.InstrutorRepository;
+import com.academia.academia_api.repository.MarcadorAlteracaoRepository;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,38 +31,99 @@ public class InstrutorService {
     @Autowired
     private InstrutorRepository instrutorRepository;
 
+    @Autowired
+    private MarcadorAlteracaoRepository marcadorAlteracaoRepository;
+
+    @Value("${academia.dashboard.dias-sem-avaliacao:90}")
+    private int diasSemAvaliacao;
+
     public InstrutorResponseDTO criarInstrutor(InstrutorRequestDTO dto) {
         Instrutor instrutor = InstrutorMapper.toEntity(dto);
         Instrutor salvo = instrutorRepository.save(instrutor);
-        return InstrutorMapper.toResponseDTO(salvo);
+        return InstrutorMapper.toResponseDTO(salvo, 0);
     }
 
     public List<InstrutorResponseDTO> listarInstrutores() {
-        return instrutorRepository.findAll()
+        return instrutorRepository.findResumos()
                 .stream()
                 .map(InstrutorMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    public String etagLista() {
+        // O contador inclui os alunos, de onde vem o totalAlunos embutido em cada instrutor
+        return ETagUtil.colecao("instrutores", marcadorAlteracaoRepository.versao(MarcadorAlteracaoRepository.CADASTRO));
+    }
+
+    // Lido do banco e não do cache, antes do corpo
+    public String etag(Long id) {
+        Object[] linha = instrutorRepository.resumirVersoesPorId(id).stream().findFirst()
+                .orElseThrow(() -> new RuntimeException("Instrutor não encontrado"));
+        return ETagUtil.recurso("instrutor", id, ((Number) linha[0]).longValue(), linha[1]);
+    }
+
+    @Cacheable(value = CacheConfig.INSTRUTORES, key = "#id")
     public InstrutorResponseDTO buscarPorId(Long id) {
-        Instrutor instrutor = instrutorRepository.findById(id)
+        return instrutorRepository.findResumoById(id)
+                .map(InstrutorMapper::toResponseDTO)
                 .orElseThrow(() -> new RuntimeException("Instrutor não encontrado"));
-        return InstrutorMapper.toResponseDTO(instrutor);
     }
 
-    public InstrutorResponseDTO atualizarInstrutor(Long id, InstrutorRequestDTO dto) {
+    @Cacheable(value = CacheConfig.INSTRUTOR_DASHBOARD, key = "#id")
+    public DashboardInstrutorResponseDTO dashboard(Long id) {
+        List<Object[]> linhas = instrutorRepository.consultarDashboard(id, diasSemAvaliacao);
+        DashboardInstrutorResponseDTO dto = new DashboardInstrutorResponseDTO();
+        for (Object[] linha : linhas) {
+            String tipo = (String) linha[0];
+            Long linhaId = linha[1] != null ? ((Number) linha[1]).longValue() : null;
+            String rotulo = (String) linha[2];
+            long total = linha[3] != null ? ((Number) linha[3]).longValue() : 0;
+            switch (tipo) {
+                case "INSTRUTOR" -> {
+                    dto.setInstrutorId(linhaId);
+                    dto.setNomeInstrutor(rotulo);
+                    dto.setTotalAlunos(total);
+                }
+                case "PLANO" -> dto.getAlunosPorPlano().put(rotulo != null ? rotulo : "Sem plano", total);
+                case "SEM_AVALIACAO" -> dto.getAlunosSemAvaliacaoRecente()
+                        .add(new AlunoSemAvaliacaoDTO(linhaId, rotulo, paraData(linha[4])));
+                case "TREINO" -> dto.getTreinosEmUso().add(new TreinoEmUsoDTO(linhaId, rotulo, total));
+                default -> throw new IllegalStateException("Tipo de linha desconhecido: " + tipo);
+            }
+        }
+        if (dto.getInstrutorId() == null) {
+            throw new RuntimeException("Instrutor não encontrado");
+        }
+        return dto;
+    }
+
+    private static LocalDate paraData(Object valor) {
+        if (valor instanceof Date data) {
+            return data.toLocalDate();
+        }
+        return (LocalDate) valor;
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.INSTRUTORES, key = "#id"),
+            @CacheEvict(value = CacheConfig.ALUNOS, allEntries = true)
+    })
+    @Transactional
+    public InstrutorResponseDTO atualizarInstrutor(Long id, InstrutorRequestDTO dto, Long versaoEsperada) {
         Instrutor instrutor = instrutorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Instrutor não encontrado"));
+        ETagUtil.verificarVersao(versaoEsperada, instrutor.getVersao());
         instrutor.setNome(dto.getNome());
         instrutor.setCpf(dto.getCpf());
         instrutor.setTelefone(dto.getTelefone());
         instrutor.setEmail(dto.getEmail());
         instrutor.setNumeroCreef(dto.getNumeroCreef());
 
-        Instrutor atualizado = instrutorRepository.save(instrutor);
-        return InstrutorMapper.toResponseDTO(atualizado);
+        Instrutor atualizado = instrutorRepository.saveAndFlush(instrutor);
+        return InstrutorMapper.toResponseDTO(atualizado, instrutorRepository.contarAlunos(id));
     }
 
+    @CacheEvict(value = CacheConfig.INSTRUTORES, key = "#id")
     public void deletarInstrutor(Long id) {
         Instrutor instrutor = instrutorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Instrutor não encontrado"));
@@ -0,0 +1,48 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.response.ProgressoGrupoResponseDTO;
+import com.academia.academia_api.DTO.response.ProgressoMensalResponseDTO;
+import com.academia.academia_api.repository.ProgressoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Relatórios de progresso lidos das tabelas de agregação. {@link #atualizarAlunos} é chamado
+ * pelas escritas de avaliações físicas, depois do flush das alterações.
+ */
+@Service
+public class ProgressoService {
+
+    @Autowired
+    private ProgressoRepository progressoRepository;
+
+    @Transactional
+    public void atualizarAlunos(Collection<Long> alunoIds) {
+        if (!alunoIds.isEmpty()) {
+            progressoRepository.recalcularAlunos(alunoIds);
+        }
+    }
+
+    public List<ProgressoGrupoResponseDTO> variacaoPorGrupo(String dimensao) {
+        validarDimensao(dimensao);
+        return progressoRepository.variacaoPorGrupo(dimensao);
+    }
+
+    public List<ProgressoMensalResponseDTO> mensalPorGrupo(String dimensao, LocalDate inicio, LocalDate fim) {
+        validarDimensao(dimensao);
+        LocalDate ate = fim != null ? fim : LocalDate.now();
+        LocalDate de = inicio != null ? inicio : ate.minusMonths(12);
+        return progressoRepository.mensalPorGrupo(dimensao, de.withDayOfMonth(1), ate);
+    }
+
+    private static void validarDimensao(String dimensao) {
+        if (!ProgressoRepository.dimensaoValida(dimensao)) {
+            throw new RuntimeException("Dimensão inválida: " + dimensao);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.mapper.RegistroSerieMapper;
+import com.academia.academia_api.DTO.request.RegistroSerieRequestDTO;
+import com.academia.academia_api.DTO.response.PaginaResponseDTO;
+import com.academia.academia_api.DTO.response.RegistroSerieResponseDTO;
+import com.academia.academia_api.model.RegistroSerie;
+import com.academia.academia_api.repository.RegistroSerieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+
+@Service
+public class RegistroSerieService {
+
+    @Autowired
+    private RegistroSerieRepository registroSerieRepository;
+
+    @Autowired
+    private GravadorRegistrosSeries gravador;
+
+    @Value("${academia.paginacao.tamanho-padrao:50}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${academia.paginacao.tamanho-maximo:200}")
+    private int tamanhoPaginaMaximo;
+
+    /**
+     * Valida e coloca o registro na fila de gravação; a resposta não espera o commit no banco.
+     * Aluno ou exercício inexistentes só são detectados na gravação, e o registro é descartado.
+     */
+    public void registrar(RegistroSerieRequestDTO dto) {
+        if (dto.getAlunoId() == null || dto.getExercicioId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o aluno e o exercício");
+        }
+        if (dto.getRealizadoEm() == null) {
+            dto.setRealizadoEm(LocalDateTime.now());
+        }
+        if (!gravador.enfileirar(dto)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Fila de registros cheia, tente novamente em instantes");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaResponseDTO<RegistroSerieResponseDTO> listarPorAluno(Long alunoId, int pagina, Integer tamanho) {
+        int limite = tamanho == null ? tamanhoPaginaPadrao : Math.min(Math.max(tamanho, 1), tamanhoPaginaMaximo);
+        Page<RegistroSerie> registros = registroSerieRepository.findByAlunoId(alunoId,
+                PageRequest.of(Math.max(pagina, 0), limite));
+        return PaginaResponseDTO.of(registros, registros.getContent().stream()
+                .map(RegistroSerieMapper::toResponseDTO)
+                .toList());
+    }
+}
@@ -0,0 +1,74 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.response.RelatorioResponseDTO;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de um relatório em geração. Os campos mutáveis são escritos pela thread do relatório
+ * e lidos pelas requisições de acompanhamento.
+ */
+public class RelatorioJob {
+
+    enum Tipo { AVALIACOES, ALUNOS }
+
+    enum Status { PENDENTE, EXECUTANDO, CONCLUIDO, CANCELADO, FALHOU }
+
+    final String id;
+    final Tipo tipo;
+    final Long instrutorId;
+    final LocalDate inicio;
+    final LocalDate fim;
+    final Instant criadoEm = Instant.now();
+    final AtomicLong processados = new AtomicLong();
+
+    volatile Status status = Status.PENDENTE;
+    volatile long total;
+    volatile Path arquivo;
+    volatile String erro;
+    volatile Instant concluidoEm;
+    volatile boolean cancelamentoSolicitado;
+    volatile Future<?> execucao;
+
+    RelatorioJob(String id, Tipo tipo, Long instrutorId, LocalDate inicio, LocalDate fim) {
+        this.id = id;
+        this.tipo = tipo;
+        this.instrutorId = instrutorId;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    boolean finalizado() {
+        return status == Status.CONCLUIDO || status == Status.CANCELADO || status == Status.FALHOU;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    public String getNomeArquivo() {
+        return "relatorio-" + tipo.name().toLowerCase(Locale.ROOT) + "-instrutor-" + instrutorId + ".csv";
+    }
+
+    RelatorioResponseDTO toResponseDTO() {
+        RelatorioResponseDTO dto = new RelatorioResponseDTO();
+        dto.setId(id);
+        dto.setTipo(tipo.name().toLowerCase(Locale.ROOT));
+        dto.setInstrutorId(instrutorId);
+        dto.setStatus(status.name());
+        long feitos = processados.get();
+        dto.setProcessados(feitos);
+        dto.setTotal(total);
+        dto.setPercentual(status == Status.CONCLUIDO ? 100
+                : total == 0 ? 0 : (int) Math.min(99, feitos * 100 / total));
+        dto.setErro(erro);
+        dto.setCriadoEm(criadoEm);
+        dto.setConcluidoEm(concluidoEm);
+        return dto;
+    }
+}
@@ -0,0 +1,312 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.request.RelatorioRequestDTO;
+import com.academia.academia_api.DTO.response.AvaliacaoFisicaResponseDTO;
+import com.academia.academia_api.DTO.response.RelatorioResponseDTO;
+import com.academia.academia_api.repository.AlunoRepository;
+import com.academia.academia_api.repository.AvaliacaoFisicaRepository;
+import com.academia.academia_api.repository.InstrutorRepository;
+import com.academia.academia_api.util.CsvUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Relatórios gerados fora da thread da requisição. Cada relatório roda em uma virtual thread
+ * própria; o semáforo limita quantos leem o banco ao mesmo tempo e os demais esperam como
+ * PENDENTE. Os dados são lidos por cursor e escritos direto em um arquivo temporário, que fica
+ * disponível para download até expirar a retenção ou o relatório ser excluído.
+ */
+@Service
+public class RelatorioService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioService.class);
+
+    private static final String CABECALHO_AVALIACOES = "aluno,data_avaliacao,peso,altura,imc,observacoes";
+    private static final String CABECALHO_ALUNOS =
+            "id,nome,plano,total_treinos,ultima_avaliacao,ultimo_peso,ultimo_imc";
+
+    @Autowired
+    private AvaliacaoFisicaRepository avaliacaoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private InstrutorRepository instrutorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${academia.relatorios.concorrencia-maxima:2}")
+    private int concorrenciaMaxima;
+
+    // Relatórios ainda não finalizados aceitos ao mesmo tempo; acima disso a submissão é recusada
+    @Value("${academia.relatorios.maximo-pendentes:50}")
+    private int maximoPendentes;
+
+    @Value("${academia.relatorios.retencao:1h}")
+    private Duration retencao;
+
+    private final Map<String, RelatorioJob> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+    private Semaphore limite;
+    private TransactionTemplate transacaoLeitura;
+
+    @PostConstruct
+    public void iniciar() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        limite = new Semaphore(concorrenciaMaxima, true);
+        transacaoLeitura = new TransactionTemplate(transactionManager);
+        transacaoLeitura.setReadOnly(true);
+    }
+
+    @PreDestroy
+    public void parar() {
+        executor.shutdownNow();
+        jobs.values().forEach(job -> apagar(job.arquivo));
+        jobs.clear();
+    }
+
+    public RelatorioResponseDTO submeter(RelatorioRequestDTO dto) {
+        RelatorioJob.Tipo tipo = tipo(dto.getTipo());
+        if (dto.getInstrutorId() == null || !instrutorRepository.existsById(dto.getInstrutorId())) {
+            throw new RuntimeException("Instrutor não encontrado");
+        }
+        LocalDate hoje = LocalDate.now();
+        LocalDate inicio = dto.getInicio() != null ? dto.getInicio() : hoje.withDayOfMonth(1);
+        LocalDate fim = dto.getFim() != null ? dto.getFim() : hoje;
+        if (inicio.isAfter(fim)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O início deve ser anterior ao fim");
+        }
+
+        removerExpirados();
+        long pendentes = jobs.values().stream().filter(job -> !job.finalizado()).count();
+        if (pendentes >= maximoPendentes) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Muitos relatórios em andamento, tente novamente mais tarde");
+        }
+
+        RelatorioJob job = new RelatorioJob(UUID.randomUUID().toString(), tipo, dto.getInstrutorId(), inicio, fim);
+        // O Future é atribuído antes de o job ficar visível: um DELETE concorrente sempre encontra a execução
+        job.execucao = executor.submit(() -> executar(job));
+        jobs.put(job.id, job);
+        return job.toResponseDTO();
+    }
+
+    public RelatorioResponseDTO buscar(String id) {
+        return buscarJob(id).toResponseDTO();
+    }
+
+    // Usado no download; o arquivo só existe depois que o relatório termina com sucesso
+    public RelatorioJob buscarConcluido(String id) {
+        RelatorioJob job = buscarJob(id);
+        if (job.status != RelatorioJob.Status.CONCLUIDO) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Relatório ainda não concluído");
+        }
+        return job;
+    }
+
+    /**
+     * Cancela um relatório em andamento; um relatório já finalizado é descartado junto com o arquivo.
+     */
+    public void cancelar(String id) {
+        RelatorioJob job = buscarJob(id);
+        if (job.finalizado()) {
+            jobs.remove(id);
+            apagar(job.arquivo);
+            return;
+        }
+        // Mesmo monitor de iniciarExecucao: a thread só é interrompida enquanto o job está PENDENTE
+        synchronized (job) {
+            job.cancelamentoSolicitado = true;
+            if (job.status != RelatorioJob.Status.PENDENTE) {
+                // Em execução o cancelamento é verificado a cada linha; interromper a thread no meio de uma
+                // leitura do socket derrubaria a conexão do pool
+                job.execucao.cancel(false);
+            } else if (job.execucao.cancel(true)) {
+                // Cancelado antes de começar ou na espera do semáforo: a tarefa pode nem rodar para
+                // atualizar o próprio status
+                finalizar(job, RelatorioJob.Status.CANCELADO);
+            }
+        }
+    }
+
+    private RelatorioJob buscarJob(String id) {
+        RelatorioJob job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Relatório não encontrado");
+        }
+        return job;
+    }
+
+    private void executar(RelatorioJob job) {
+        try {
+            limite.acquire();
+        } catch (InterruptedException e) {
+            finalizar(job, RelatorioJob.Status.CANCELADO);
+            return;
+        }
+        Path arquivo = null;
+        try {
+            iniciarExecucao(job);
+            arquivo = Files.createTempFile("relatorio-" + job.id + "-", ".csv");
+            try (Writer writer = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+                transacaoLeitura.executeWithoutResult(status -> escrever(job, writer));
+            }
+            job.arquivo = arquivo;
+            finalizar(job, RelatorioJob.Status.CONCLUIDO);
+        } catch (Exception e) {
+            apagar(arquivo);
+            if (job.cancelamentoSolicitado) {
+                finalizar(job, RelatorioJob.Status.CANCELADO);
+            } else {
+                log.warn("Falha ao gerar o relatório {}", job.id, e);
+                job.erro = e.getMessage();
+                finalizar(job, RelatorioJob.Status.FALHOU);
+            }
+        } finally {
+            limite.release();
+        }
+    }
+
+    private void escrever(RelatorioJob job, Writer writer) {
+        try {
+            if (job.tipo == RelatorioJob.Tipo.AVALIACOES) {
+                escreverAvaliacoes(job, writer);
+            } else {
+                escreverAlunos(job, writer);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverAvaliacoes(RelatorioJob job, Writer writer) throws IOException {
+        job.total = avaliacaoRepository.contarPorInstrutor(job.instrutorId, job.inicio, job.fim);
+        writer.write(CABECALHO_AVALIACOES);
+        writer.write('\n');
+        try (Stream<AvaliacaoFisicaResponseDTO> avaliacoes =
+                     avaliacaoRepository.streamPorInstrutor(job.instrutorId, job.inicio, job.fim)) {
+            Iterator<AvaliacaoFisicaResponseDTO> iterator = avaliacoes.iterator();
+            while (iterator.hasNext()) {
+                verificarCancelamento(job);
+                AvaliacaoFisicaResponseDTO avaliacao = iterator.next();
+                writer.write(String.join(",",
+                        CsvUtil.campo(avaliacao.getNomeAluno()),
+                        CsvUtil.campo(avaliacao.getDataAvaliacao()),
+                        CsvUtil.campo(avaliacao.getPeso()),
+                        CsvUtil.campo(avaliacao.getAltura()),
+                        CsvUtil.campo(avaliacao.getImc()),
+                        CsvUtil.campo(avaliacao.getObservacoes())));
+                writer.write('\n');
+                job.processados.incrementAndGet();
+            }
+        }
+    }
+
+    private void escreverAlunos(RelatorioJob job, Writer writer) throws IOException {
+        job.total = alunoRepository.countByInstrutorId(job.instrutorId);
+        writer.write(CABECALHO_ALUNOS);
+        writer.write('\n');
+        try (Stream<Object[]> alunos = alunoRepository.streamResumoPorInstrutor(job.instrutorId)) {
+            Iterator<Object[]> iterator = alunos.iterator();
+            while (iterator.hasNext()) {
+                verificarCancelamento(job);
+                Object[] linha = iterator.next();
+                StringBuilder texto = new StringBuilder();
+                for (int i = 0; i < linha.length; i++) {
+                    if (i > 0) {
+                        texto.append(',');
+                    }
+                    texto.append(CsvUtil.campo(linha[i]));
+                }
+                writer.write(texto.toString());
+                writer.write('\n');
+                job.processados.incrementAndGet();
+            }
+        }
+    }
+
+    private static void iniciarExecucao(RelatorioJob job) {
+        synchronized (job) {
+            // Descarta uma interrupção que chegou entre o acquire e este ponto; o pedido de cancelamento fica
+            // registrado em cancelamentoSolicitado
+            Thread.interrupted();
+            verificarCancelamento(job);
+            job.status = RelatorioJob.Status.EXECUTANDO;
+        }
+    }
+
+    private static void verificarCancelamento(RelatorioJob job) {
+        if (job.cancelamentoSolicitado || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+
+    private static void finalizar(RelatorioJob job, RelatorioJob.Status status) {
+        job.concluidoEm = Instant.now();
+        job.status = status;
+    }
+
+    private void removerExpirados() {
+        Instant limiteRetencao = Instant.now().minus(retencao);
+        jobs.values().removeIf(job -> {
+            boolean expirado = job.finalizado() && job.concluidoEm.isBefore(limiteRetencao);
+            if (expirado) {
+                apagar(job.arquivo);
+            }
+            return expirado;
+        });
+    }
+
+    private static RelatorioJob.Tipo tipo(String tipo) {
+        if (tipo != null) {
+            for (RelatorioJob.Tipo valor : RelatorioJob.Tipo.values()) {
+                if (valor.name().equalsIgnoreCase(tipo.trim())) {
+                    return valor;
+                }
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de relatório inválido: " + tipo);
+    }
+
+    private static void apagar(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o arquivo {}", arquivo, e);
+        }
+    }
+}
@@ -1,54 +1,125 @@
 package com.academia.academia_api.service;
 
+import com.academia.academia_api.config.CacheConfig;
 import com.academia.academia_api.DTO.mapper.TreinoMapper;
 import com.academia.academia_api.DTO.request.TreinoRequestDTO;
+import com.academia.academia_api.DTO.response.TreinoCompletoResponseDTO;
 import com.academia.academia_api.DTO.response.TreinoResponseDTO;
 import com.academia.academia_api.model.Treino;
 import com.academia.academia_api.repository.TreinoRepository;
+import com.academia.academia_api.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * As leituras de treinos são atendidas pelo {@link CatalogoTreinos}; toda escrita publica um
+ * {@link CatalogoAlteradoEvent} para que o snapshot seja recarregado após o commit.
+ */
 @Service
 public class TreinoService {
 
     @Autowired
     private TreinoRepository treinoRepository;
 
+    @Autowired
+    private CatalogoTreinos catalogo;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
     @Transactional
     public TreinoResponseDTO criarTreino(TreinoRequestDTO requestDTO) {
         Treino treino = TreinoMapper.toEntity(requestDTO);
         Treino savedTreino = treinoRepository.save(treino);
-        return TreinoMapper.toResponseDTO(savedTreino);
+        eventos.publishEvent(new CatalogoAlteradoEvent());
+        return TreinoMapper.toResponseDTO(savedTreino, 0);
     }
 
     public List<TreinoResponseDTO> listarTreinos() {
-        return treinoRepository.findAll().stream()
-                .map(TreinoMapper::toResponseDTO)
-                .toList();
+        return catalogo.treinos();
+    }
+
+    public byte[] listarTreinosJson() {
+        return catalogo.treinosJson();
+    }
+
+    public String etagLista() {
+        return catalogo.etagTreinos();
     }
 
     public Optional<TreinoResponseDTO> buscarTreinoPorId(Long id) {
-        return treinoRepository.findById(id)
-                .map(TreinoMapper::toResponseDTO);
+        return catalogo.treino(id);
+    }
+
+    public Optional<TreinoCompletoResponseDTO> buscarTreinoCompleto(Long id) {
+        return catalogo.treinoCompleto(id);
+    }
+
+    public List<TreinoCompletoResponseDTO> listarTreinosCompletos(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return ids.stream()
+                .distinct()
+                .sorted()
+                .map(catalogo::treinoCompleto)
+                .flatMap(Optional::stream)
+                .toList();
     }
 
     @Transactional
-    public TreinoResponseDTO atualizarTreino(Long id, TreinoRequestDTO requestDTO) {
-        if (treinoRepository.existsById(id)) {
-            Treino treino = TreinoMapper.toEntity(requestDTO);
-            treino.setId(id);
-            Treino updated = treinoRepository.save(treino);
-            return TreinoMapper.toResponseDTO(updated);
+    public TreinoResponseDTO atualizarTreino(Long id, TreinoRequestDTO requestDTO, Long versaoEsperada) {
+        Optional<Treino> existente = treinoRepository.findById(id);
+        if (existente.isEmpty()) {
+            return null;
+        }
+
+        Treino treino = existente.get();
+        ETagUtil.verificarVersao(versaoEsperada, treino.getVersao());
+        Long versaoAnterior = treino.getVersao();
+        treino.setNome(requestDTO.getNome());
+        treino.setObjetivo(requestDTO.getObjetivo());
+        treino.setNivel(requestDTO.getNivel());
+
+        // flush para que a versão incrementada já saia na resposta
+        Treino updated = treinoRepository.saveAndFlush(treino);
+        // Versão inalterada: o dirty checking não encontrou mudança e nada foi gravado
+        if (!updated.getVersao().equals(versaoAnterior)) {
+            eventos.publishEvent(new CatalogoAlteradoEvent());
+        }
+        return TreinoMapper.toResponseDTO(updated, treinoRepository.contarAlunos(id));
+    }
+
+    /**
+     * Aplica só os campos enviados em um único UPDATE ... RETURNING. Sem linha atualizada,
+     * a existência só é consultada quando há If-Match, para distinguir 412 de 404. Sem nenhum
+     * campo, devolve a representação atual sem gravar nem incrementar a versão.
+     */
+    @Transactional
+    public Optional<TreinoResponseDTO> atualizarParcial(Long id, TreinoRequestDTO campos, Long versaoEsperada) {
+        if (campos.getNome() == null && campos.getObjetivo() == null && campos.getNivel() == null) {
+            Optional<Treino> atual = treinoRepository.findById(id);
+            atual.ifPresent(treino -> ETagUtil.verificarVersao(versaoEsperada, treino.getVersao()));
+            return atual.map(treino -> TreinoMapper.toResponseDTO(treino, treinoRepository.contarAlunos(id)));
+        }
+        Optional<TreinoResponseDTO> atualizado = treinoRepository.atualizarParcial(id, campos, versaoEsperada);
+        if (atualizado.isEmpty() && versaoEsperada != null && treinoRepository.existsById(id)) {
+            throw ETagUtil.precondicaoFalhou();
         }
-        return null;
+        atualizado.ifPresent(treino -> eventos.publishEvent(new CatalogoAlteradoEvent()));
+        return atualizado;
     }
 
+    @CacheEvict(value = CacheConfig.ALUNOS, allEntries = true)
     @Transactional
     public void deletarTreino(Long id) {
         treinoRepository.deleteById(id);
+        eventos.publishEvent(new CatalogoAlteradoEvent());
     }
 }
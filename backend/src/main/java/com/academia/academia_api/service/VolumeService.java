@@ -0,0 +1,63 @@
+package com.academia.academia_api.service;
+
+import com.academia.academia_api.DTO.response.VolumeGrupoResponseDTO;
+import com.academia.academia_api.DTO.response.VolumeTreinoResponseDTO;
+import com.academia.academia_api.repository.VolumeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Análises de volume de treino lidas das tabelas de agregação. Os métodos atualizar* são chamados
+ * pelos serviços que alteram exercícios ou vínculos aluno-treino, depois do flush das alterações.
+ */
+@Service
+public class VolumeService {
+
+    @Autowired
+    private VolumeRepository volumeRepository;
+
+    // Recalcula os treinos e, em seguida, os alunos que os têm atribuídos
+    @Transactional
+    public void atualizarTreinos(Collection<Long> treinoIds) {
+        List<Long> ids = treinoIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        volumeRepository.recalcularTreinos(ids);
+        List<Long> alunoIds = volumeRepository.findAlunoIdsPorTreinos(ids);
+        if (!alunoIds.isEmpty()) {
+            volumeRepository.recalcularAlunos(alunoIds);
+        }
+    }
+
+    // Depois de mudanças nos vínculos aluno-treino. Em atualizarTreinos os treinos alterados já estão
+    // bloqueados exclusivos, e quem altera outro treino recalcula depois os mesmos alunos
+    @Transactional
+    public void atualizarAlunos(Collection<Long> alunoIds) {
+        if (!alunoIds.isEmpty()) {
+            volumeRepository.bloquearTreinosDosAlunos(alunoIds);
+            volumeRepository.recalcularAlunos(alunoIds);
+        }
+    }
+
+    public List<VolumeTreinoResponseDTO> volumePorTreino() {
+        return volumeRepository.totaisPorTreino();
+    }
+
+    public List<VolumeGrupoResponseDTO> volumeDoTreino(Long treinoId) {
+        return volumeRepository.gruposDoTreino(treinoId);
+    }
+
+    public List<VolumeGrupoResponseDTO> volumeDoAluno(Long alunoId) {
+        return volumeRepository.gruposDoAluno(alunoId);
+    }
+
+    public List<VolumeGrupoResponseDTO> volumePorGrupo() {
+        return volumeRepository.totaisPorGrupo();
+    }
+}
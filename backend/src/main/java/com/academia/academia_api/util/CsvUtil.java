@@ -0,0 +1,22 @@
+package com.academia.academia_api.util;
+
+/**
+ * Formatação de campos para os arquivos CSV gerados pela API.
+ */
+public final class CsvUtil {
+
+    private CsvUtil() {
+    }
+
+    // Campos com vírgula, aspas ou quebra de linha vão entre aspas; null vira campo vazio
+    public static String campo(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,71 @@
+package com.academia.academia_api.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * ETags fortes derivados da coluna de versão otimista das entidades e, quando a resposta embute
+ * dados de outras tabelas, também das versões ou totais desses dados.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * ETag de um recurso a partir da versão otimista. Quando a resposta embute dados de outras tabelas
+     * (nomes, totais, ids de associações), que mudam sem alterar a versão da entidade, as versões ou totais
+     * desses dados entram como dependências antes da versão, que fica no final, onde
+     * {@link #versaoEsperada} a procura.
+     */
+    public static String recurso(String tipo, Long id, Long versao, Object... dependencias) {
+        StringBuilder etag = new StringBuilder("\"").append(tipo).append('-').append(id).append('-');
+        for (Object dependencia : dependencias) {
+            etag.append(dependencia).append('-');
+        }
+        return etag.append(versao).append('"').toString();
+    }
+
+    /**
+     * ETag de uma listagem a partir de um contador de alterações das tabelas que ela lê, incluídas as
+     * que aparecem embutidas na resposta.
+     */
+    public static String colecao(String tipo, long versao) {
+        return "\"" + tipo + "-" + versao + "\"";
+    }
+
+    /**
+     * Extrai a versão de um cabeçalho If-Match gerado por {@link #recurso} para o recurso tipo/id.
+     * Retorna null quando o cabeçalho não foi enviado ou é "*"; um ETag de outro tipo ou id, ou um valor
+     * irreconhecível, nunca corresponde a uma versão.
+     */
+    public static Long versaoEsperada(String ifMatch, String tipo, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        valor = valor.replace("\"", "");
+        if (!valor.startsWith(tipo + "-" + id + "-")) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(valor.substring(valor.lastIndexOf('-') + 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    public static void verificarVersao(Long versaoEsperada, Long versaoAtual) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw precondicaoFalhou();
+        }
+    }
+
+    public static ResponseStatusException precondicaoFalhou() {
+        return new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "O recurso foi alterado por outra requisição");
+    }
+}
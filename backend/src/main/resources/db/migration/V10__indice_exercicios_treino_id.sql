@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_exercicios_treino_id ON exercicios (treino_id);
@@ -0,0 +1 @@
+ALTER TABLE exercicios ADD COLUMN ordem INT;
@@ -0,0 +1,9 @@
+-- Filtro por grupo muscular + prefixo de nome (lower(nome) LIKE 'abc%')
+CREATE INDEX IF NOT EXISTS idx_exercicios_grupo_nome ON exercicios (grupo_muscular, lower(nome) text_pattern_ops);
+
+-- Prefixo de nome sem grupo muscular
+CREATE INDEX IF NOT EXISTS idx_exercicios_nome_prefixo ON exercicios (lower(nome) text_pattern_ops);
+
+-- Filtro por treino (+ grupo muscular); cobre também o antigo índice só de treino_id
+CREATE INDEX IF NOT EXISTS idx_exercicios_treino_grupo ON exercicios (treino_id, grupo_muscular);
+DROP INDEX IF EXISTS idx_exercicios_treino_id;
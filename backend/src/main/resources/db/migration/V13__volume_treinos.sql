@@ -0,0 +1,30 @@
+-- Volume (séries x repetições x carga) agregado por treino e grupo muscular
+CREATE TABLE volume_treino_grupo (
+    treino_id INT NOT NULL REFERENCES treinos(id) ON DELETE CASCADE,
+    grupo_muscular VARCHAR(50) NOT NULL,
+    total_exercicios INT NOT NULL,
+    volume NUMERIC(14,2) NOT NULL,
+    PRIMARY KEY (treino_id, grupo_muscular)
+);
+
+-- Soma do volume dos treinos atribuídos a cada aluno, por grupo muscular
+CREATE TABLE volume_aluno_grupo (
+    aluno_id INT NOT NULL REFERENCES alunos(id) ON DELETE CASCADE,
+    grupo_muscular VARCHAR(50) NOT NULL,
+    total_exercicios INT NOT NULL,
+    volume NUMERIC(14,2) NOT NULL,
+    PRIMARY KEY (aluno_id, grupo_muscular)
+);
+
+INSERT INTO volume_treino_grupo (treino_id, grupo_muscular, total_exercicios, volume)
+SELECT e.treino_id, COALESCE(e.grupo_muscular, ''), COUNT(*),
+       COALESCE(SUM(COALESCE(e.series, 0) * COALESCE(e.repeticoes, 0) * COALESCE(e.carga, 0)), 0)
+FROM exercicios e
+WHERE e.treino_id IS NOT NULL
+GROUP BY 1, 2;
+
+INSERT INTO volume_aluno_grupo (aluno_id, grupo_muscular, total_exercicios, volume)
+SELECT at.aluno_id, v.grupo_muscular, SUM(v.total_exercicios), SUM(v.volume)
+FROM aluno_treino at
+JOIN volume_treino_grupo v ON v.treino_id = at.treino_id
+GROUP BY 1, 2;
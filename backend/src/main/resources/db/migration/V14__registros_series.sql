@@ -0,0 +1,11 @@
+-- Séries realizadas pelos alunos; gravadas em lote pelo GravadorRegistrosSeries
+CREATE TABLE registros_series (
+    id BIGSERIAL PRIMARY KEY,
+    aluno_id INT NOT NULL REFERENCES alunos(id) ON DELETE CASCADE,
+    exercicio_id INT REFERENCES exercicios(id) ON DELETE SET NULL,
+    carga DECIMAL(6,2),
+    repeticoes INT,
+    realizado_em TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_registros_series_aluno_realizado ON registros_series (aluno_id, realizado_em DESC, id DESC);
@@ -0,0 +1,2 @@
+-- Contagem e listagem paginada dos alunos de cada instrutor
+CREATE INDEX IF NOT EXISTS idx_alunos_instrutor_nome ON alunos (instrutor_id, nome, id);
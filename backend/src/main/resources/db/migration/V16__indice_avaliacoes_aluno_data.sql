@@ -0,0 +1,3 @@
+-- Histórico por aluno em um range scan; as colunas do gráfico ficam no índice (index-only scan)
+CREATE INDEX IF NOT EXISTS idx_avaliacoes_aluno_data
+    ON avaliacoes_fisicas (aluno_id, data_avaliacao, id) INCLUDE (peso, altura, imc);
@@ -0,0 +1,2 @@
+-- Listagem paginada por período, mais recentes primeiro
+CREATE INDEX IF NOT EXISTS idx_avaliacoes_data_id ON avaliacoes_fisicas (data_avaliacao DESC, id DESC);
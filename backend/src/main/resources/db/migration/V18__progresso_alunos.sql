@@ -0,0 +1,37 @@
+-- Primeira e última avaliação de cada aluno (base das variações de peso/IMC)
+CREATE TABLE progresso_aluno (
+    aluno_id INT PRIMARY KEY REFERENCES alunos(id) ON DELETE CASCADE,
+    primeira_data DATE NOT NULL,
+    primeiro_peso DECIMAL(5,2),
+    primeiro_imc DECIMAL(5,2),
+    ultima_data DATE NOT NULL,
+    ultimo_peso DECIMAL(5,2),
+    ultimo_imc DECIMAL(5,2),
+    total_avaliacoes INT NOT NULL
+);
+
+-- Médias mensais de peso/IMC por aluno
+CREATE TABLE progresso_aluno_mensal (
+    aluno_id INT NOT NULL REFERENCES alunos(id) ON DELETE CASCADE,
+    mes DATE NOT NULL,
+    total_avaliacoes INT NOT NULL,
+    peso_medio NUMERIC(7,2),
+    imc_medio NUMERIC(7,2),
+    PRIMARY KEY (aluno_id, mes)
+);
+
+INSERT INTO progresso_aluno (aluno_id, primeira_data, primeiro_peso, primeiro_imc,
+                             ultima_data, ultimo_peso, ultimo_imc, total_avaliacoes)
+SELECT DISTINCT ON (aluno_id) aluno_id,
+       FIRST_VALUE(data_avaliacao) OVER w, FIRST_VALUE(peso) OVER w, FIRST_VALUE(imc) OVER w,
+       LAST_VALUE(data_avaliacao) OVER w, LAST_VALUE(peso) OVER w, LAST_VALUE(imc) OVER w,
+       COUNT(*) OVER w
+FROM avaliacoes_fisicas
+WINDOW w AS (PARTITION BY aluno_id ORDER BY data_avaliacao, id
+             ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)
+ORDER BY aluno_id;
+
+INSERT INTO progresso_aluno_mensal (aluno_id, mes, total_avaliacoes, peso_medio, imc_medio)
+SELECT aluno_id, CAST(date_trunc('month', data_avaliacao) AS DATE), COUNT(*), AVG(peso), AVG(imc)
+FROM avaliacoes_fisicas
+GROUP BY 1, 2;
@@ -0,0 +1,33 @@
+-- Contador incrementado a cada transação que altera alunos, avaliações, atribuições de treinos ou
+-- instrutores; os ETags das listagens completas leem esta linha em vez de agregar as tabelas
+CREATE TABLE marcadores_alteracao (
+    nome VARCHAR(50) PRIMARY KEY,
+    versao BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO marcadores_alteracao (nome) VALUES ('cadastro');
+
+-- Adiada para o commit e executada uma vez por transação: a linha do contador fica bloqueada só
+-- durante o commit, depois de todos os outros bloqueios da transação, o que evita deadlocks
+CREATE FUNCTION registrar_alteracao_cadastro() RETURNS TRIGGER AS $$
+BEGIN
+    IF current_setting('academia.cadastro_alterado', true) = 'sim' THEN
+        RETURN NULL;
+    END IF;
+    PERFORM set_config('academia.cadastro_alterado', 'sim', true);
+    UPDATE marcadores_alteracao SET versao = versao + 1 WHERE nome = 'cadastro';
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER marcador_alunos AFTER INSERT OR UPDATE OR DELETE ON alunos
+    DEFERRABLE INITIALLY DEFERRED FOR EACH ROW EXECUTE FUNCTION registrar_alteracao_cadastro();
+
+CREATE CONSTRAINT TRIGGER marcador_avaliacoes AFTER INSERT OR UPDATE OR DELETE ON avaliacoes_fisicas
+    DEFERRABLE INITIALLY DEFERRED FOR EACH ROW EXECUTE FUNCTION registrar_alteracao_cadastro();
+
+CREATE CONSTRAINT TRIGGER marcador_aluno_treino AFTER INSERT OR UPDATE OR DELETE ON aluno_treino
+    DEFERRABLE INITIALLY DEFERRED FOR EACH ROW EXECUTE FUNCTION registrar_alteracao_cadastro();
+
+CREATE CONSTRAINT TRIGGER marcador_instrutores AFTER INSERT OR UPDATE OR DELETE ON instrutores
+    DEFERRABLE INITIALLY DEFERRED FOR EACH ROW EXECUTE FUNCTION registrar_alteracao_cadastro();
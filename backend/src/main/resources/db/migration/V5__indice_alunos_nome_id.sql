@@ -0,0 +1 @@
+CREATE INDEX idx_alunos_nome_id ON alunos (nome, id);
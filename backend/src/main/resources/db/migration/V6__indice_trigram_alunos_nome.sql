@@ -0,0 +1,3 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_alunos_nome_trgm ON alunos USING gin (lower(nome) gin_trgm_ops);
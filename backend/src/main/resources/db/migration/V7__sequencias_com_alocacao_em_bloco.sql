@@ -0,0 +1,7 @@
+-- As entidades usam o otimizador pooled do Hibernate com allocationSize = 50:
+-- cada nextval reserva um bloco de 50 ids, permitindo inserts em lote via JDBC.
+ALTER SEQUENCE instrutores_id_seq INCREMENT BY 50;
+ALTER SEQUENCE alunos_id_seq INCREMENT BY 50;
+ALTER SEQUENCE avaliacoes_fisicas_id_seq INCREMENT BY 50;
+ALTER SEQUENCE treinos_id_seq INCREMENT BY 50;
+ALTER SEQUENCE exercicios_id_seq INCREMENT BY 50;
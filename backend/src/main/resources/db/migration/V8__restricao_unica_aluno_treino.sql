@@ -0,0 +1,16 @@
+-- A tabela de junção era criada apenas pelo Hibernate (ddl-auto); garante que exista antes da restrição
+CREATE TABLE IF NOT EXISTS aluno_treino (
+    aluno_id INT NOT NULL,
+    treino_id INT NOT NULL,
+    FOREIGN KEY (aluno_id) REFERENCES alunos(id),
+    FOREIGN KEY (treino_id) REFERENCES treinos(id)
+);
+
+-- Remove vínculos duplicados acumulados antes de criar a restrição
+DELETE FROM aluno_treino a
+USING aluno_treino b
+WHERE a.ctid < b.ctid
+  AND a.aluno_id = b.aluno_id
+  AND a.treino_id = b.treino_id;
+
+ALTER TABLE aluno_treino ADD CONSTRAINT uk_aluno_treino UNIQUE (aluno_id, treino_id);
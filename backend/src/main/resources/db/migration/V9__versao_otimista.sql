@@ -0,0 +1,5 @@
+ALTER TABLE instrutores ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE alunos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE avaliacoes_fisicas ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE treinos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE exercicios ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
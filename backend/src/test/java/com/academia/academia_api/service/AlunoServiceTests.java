@@ -0,0 +1,112 @@
+package com.academia.academia_api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.academia.academia_api.model.Aluno;
+import com.academia.academia_api.model.AvaliacaoFisica;
+import com.academia.academia_api.model.Instrutor;
+import com.academia.academia_api.model.Treino;
+import com.academia.academia_api.repository.AlunoRepository;
+import com.academia.academia_api.repository.InstrutorRepository;
+import com.academia.academia_api.repository.TreinoRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class AlunoServiceTests {
+
+	@Autowired
+	private AlunoService alunoService;
+
+	@Autowired
+	private AlunoRepository alunoRepository;
+
+	@Autowired
+	private InstrutorRepository instrutorRepository;
+
+	@Autowired
+	private TreinoRepository treinoRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void listarTodosExecutaQuantidadeFixaDeConsultas() {
+		long comPoucosAlunos = contarConsultasAoListar(5);
+		long comMaisAlunos = contarConsultasAoListar(40);
+
+		assertEquals(comPoucosAlunos, comMaisAlunos);
+	}
+
+	@Test
+	void buscarPorNomeExecutaQuantidadeFixaDeConsultas() {
+		criarAlunos(5, "busca-a");
+		long comPoucosAlunos = contarConsultas(() -> alunoService.buscarPorNome("busca-a", 0, 50));
+
+		criarAlunos(40, "busca-b");
+		long comMaisAlunos = contarConsultas(() -> alunoService.buscarPorNome("busca-b", 0, 50));
+
+		assertEquals(comPoucosAlunos, comMaisAlunos);
+	}
+
+	private long contarConsultasAoListar(int quantidade) {
+		criarAlunos(quantidade, "lista-" + quantidade);
+		return contarConsultas(() -> alunoService.listarTodos());
+	}
+
+	private long contarConsultas(Runnable acao) {
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		acao.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void criarAlunos(int quantidade, String prefixo) {
+		Instrutor instrutor = new Instrutor();
+		instrutor.setNome("Instrutor " + prefixo);
+		instrutor.setCpf(prefixo + "-cpf");
+		instrutor.setNumeroCreef(prefixo + "-creef");
+		instrutorRepository.save(instrutor);
+
+		Treino treino = new Treino();
+		treino.setNome("Treino " + prefixo);
+		treinoRepository.save(treino);
+
+		for (int i = 0; i < quantidade; i++) {
+			Aluno aluno = new Aluno();
+			aluno.setNome(prefixo + " aluno " + i);
+			aluno.setEmail(prefixo + "-" + i + "@teste.com");
+			aluno.setDataNascimento(LocalDate.of(1990, 1, 1));
+			aluno.setInstrutor(instrutor);
+			aluno.setTreinos(new ArrayList<>(List.of(treino)));
+
+			AvaliacaoFisica avaliacao = new AvaliacaoFisica();
+			avaliacao.setDataAvaliacao(LocalDate.now());
+			avaliacao.setPeso(new BigDecimal("70.00"));
+			avaliacao.setAluno(aluno);
+			aluno.getAvaliacoes().add(avaliacao);
+
+			alunoRepository.save(aluno);
+		}
+	}
+}